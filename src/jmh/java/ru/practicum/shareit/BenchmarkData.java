@@ -0,0 +1,115 @@
+package ru.practicum.shareit;
+
+import org.jeasy.random.EasyRandom;
+import org.jeasy.random.EasyRandomParameters;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.jeasy.random.FieldPredicates.named;
+
+/**
+ * Seeded easy-random entity graphs for the benchmarks. Scalar fields are random, relations are wired by hand so
+ * every object graph stays one level deep like a loaded page.
+ */
+public class BenchmarkData {
+    private final Random random = new Random(42);
+    private final EasyRandom generator = new EasyRandom(new EasyRandomParameters()
+            .seed(42)
+            .stringLengthRange(5, 60)
+            .dateRange(LocalDateTime.now().minusYears(1).toLocalDate(), LocalDateTime.now().plusYears(1).toLocalDate())
+            .excludeField(named("owner").or(named("request")).or(named("requester")).or(named("items"))
+                    .or(named("item")).or(named("booker")).or(named("author"))));
+
+    public List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            User user = generator.nextObject(User.class);
+            user.setId(id);
+            users.add(user);
+        }
+        return users;
+    }
+
+    public List<ItemRequest> requests(int count, List<User> requesters) {
+        List<ItemRequest> requests = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            ItemRequest request = generator.nextObject(ItemRequest.class);
+            request.setId(id);
+            request.setRequester(any(requesters));
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    /**
+     * Items of random owners; every fifth one answers a random request when requests are given.
+     */
+    public List<Item> items(int count, List<User> owners, List<ItemRequest> requests) {
+        List<Item> items = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Item item = generator.nextObject(Item.class);
+            item.setId(id);
+            item.setOwner(any(owners));
+            item.setRequest(requests.isEmpty() || id % 5 != 0 ? null : any(requests));
+            items.add(item);
+        }
+        return items;
+    }
+
+    public List<Booking> bookings(int count, List<Item> items, List<User> bookers) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Booking booking = generator.nextObject(Booking.class);
+            booking.setId(id);
+            booking.setItem(any(items));
+            booking.setBooker(any(bookers));
+            booking.setStatus(BookingStatus.APPROVED);
+            booking.setEnd(booking.getStart().plusHours(1 + random.nextInt(72)));
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    public List<Comment> comments(int count, List<Item> items, List<User> authors) {
+        List<Comment> comments = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Comment comment = generator.nextObject(Comment.class);
+            comment.setId(id);
+            comment.setItem(any(items));
+            comment.setAuthor(any(authors));
+            comments.add(comment);
+        }
+        return comments;
+    }
+
+    /**
+     * Interface stand-in answering the named methods, so service benchmarks measure the service and not a
+     * mocking framework. Any other call fails.
+     */
+    public static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    Function<Object[], Object> answer = answers.get(method.getName());
+                    if (answer == null) {
+                        throw new UnsupportedOperationException(method.toString());
+                    }
+                    return answer.apply(args);
+                }));
+    }
+
+    private <T> T any(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
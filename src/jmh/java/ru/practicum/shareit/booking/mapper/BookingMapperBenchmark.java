@@ -0,0 +1,65 @@
+package ru.practicum.shareit.booking.mapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.BenchmarkData;
+import ru.practicum.shareit.booking.dto.OutputBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.projection.BookingView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * {@link BookingMapper#toOutputBookingDto} over one page of loaded entities and of {@link BookingView} rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingMapperBenchmark {
+    @Param({"20", "1000"})
+    private int pageSize;
+    private List<Booking> bookings;
+    private List<BookingView> views;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData();
+        List<User> users = data.users(100);
+        List<Item> items = data.items(500, users, data.requests(50, users));
+        bookings = data.bookings(pageSize, items, users);
+        views = bookings.stream()
+                .map(booking -> new BookingView(booking.getId(), booking.getStart(), booking.getEnd(),
+                        booking.getStatus(), booking.getItem().getId(), booking.getItem().getName(),
+                        booking.getItem().getDescription(), booking.getItem().getAvailable(),
+                        booking.getItem().getRequest() == null ? null : booking.getItem().getRequest().getId(),
+                        booking.getBooker().getId(), booking.getBooker().getName(), booking.getBooker().getEmail()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<OutputBookingDto> fromEntities() {
+        return BookingMapper.toOutputsBookingDtoList(bookings);
+    }
+
+    @Benchmark
+    public List<OutputBookingDto> fromViews() {
+        return BookingMapper.toOutputBookingDtoListFromViews(views);
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.booking.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.exception.ArgumentException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link State#getState} on every listing request: known values as clients send them, and the rejected path,
+ * which builds an exception.
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateBenchmark {
+    private final String[] known = {null, "", "ALL", "current", "Past", " FUTURE ", "waiting", "REJECTED"};
+    private final String[] unknown = {"Cherry", "ALLL", "unsupported_status"};
+
+    @Benchmark
+    public void known(Blackhole blackhole) {
+        for (String text : known) {
+            blackhole.consume(State.getState(text));
+        }
+    }
+
+    @Benchmark
+    public void unknown(Blackhole blackhole) {
+        for (String text : unknown) {
+            try {
+                blackhole.consume(State.getState(text));
+            } catch (ArgumentException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.booking.service;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.util.StripedLocks;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Approvals of Zipf-distributed items from 8 threads, each a read-check-write of the item's version around
+ * {@code work} units of CPU standing in for the approval transaction. {@code optimistic} is a version check
+ * alone: the loser of a race gets a conflict (409). {@code striped} serializes approvals per item through
+ * {@link StripedLocks}, as {@link BookingServiceImpl#approveBooking} does, and never conflicts.
+ * <p>
+ * {@code approved} and {@code conflicts} are reported as rates next to the total; conflict share is
+ * conflicts / (approved + conflicts). {@code skew=0} is uniform popularity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class ApprovalContentionBenchmark {
+    @Param({"optimistic", "striped"})
+    private String mode;
+    @Param({"0", "0.99", "1.5"})
+    private double skew;
+    @Param("10000")
+    private int items;
+    @Param("500")
+    private int work;
+
+    private double[] cumulative;
+    private AtomicLongArray versions;
+    private StripedLocks locks;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcome {
+        public long approved;
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            approved = 0;
+            conflicts = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        cumulative = new double[items];
+        double sum = 0;
+        for (int rank = 1; rank <= items; rank++) {
+            sum += 1 / Math.pow(rank, skew);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < items; i++) {
+            cumulative[i] /= sum;
+        }
+        versions = new AtomicLongArray(items);
+        locks = new StripedLocks(256, TimeUnit.MINUTES.toMillis(1));
+    }
+
+    @Benchmark
+    public void approve(Outcome outcome) {
+        int item = pick();
+        if (mode.equals("striped")) {
+            locks.withLock(item, () -> {
+                long version = versions.get(item);
+                Blackhole.consumeCPU(work);
+                versions.set(item, version + 1);
+                return null;
+            });
+            outcome.approved++;
+            return;
+        }
+        long version = versions.get(item);
+        Blackhole.consumeCPU(work);
+        if (versions.compareAndSet(item, version, version + 1)) {
+            outcome.approved++;
+        } else {
+            outcome.conflicts++;
+        }
+    }
+
+    private int pick() {
+        int index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, items - 1);
+    }
+}
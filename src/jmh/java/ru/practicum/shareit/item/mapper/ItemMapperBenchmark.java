@@ -0,0 +1,60 @@
+package ru.practicum.shareit.item.mapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.BenchmarkData;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.ItemView;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ItemMapper#toItemDtoList} for search pages and its {@link ItemView} counterpart for owner listings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemMapperBenchmark {
+    @Param({"20", "1000"})
+    private int pageSize;
+    private List<Item> items;
+    private List<ItemView> views;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData();
+        List<User> users = data.users(100);
+        items = data.items(pageSize, users, data.requests(50, users));
+        views = items.stream()
+                .map(item -> new ItemView(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                        item.getRequest() == null ? null : item.getRequest().getId()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ItemDto> fromEntities() {
+        return ItemMapper.toItemDtoList(items);
+    }
+
+    @Benchmark
+    public List<ItemDto> fromViews() {
+        return ItemMapper.toItemDtoListFromViews(views);
+    }
+}
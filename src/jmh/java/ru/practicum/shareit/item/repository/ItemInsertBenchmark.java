@@ -0,0 +1,85 @@
+package ru.practicum.shareit.item.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts per second through {@link ItemRepository#saveAll} on H2, {@value #ROWS} items per transaction.
+ * {@code allocationSize=1, batchSize=1} is the old cost, one round trip per row for the id plus one for the
+ * insert; {@code allocationSize=50, batchSize=50} takes one {@code nextval} and one JDBC batch per 50 rows.
+ * Each trial migrates its own database, so the sequences get the trial's increment.
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.includes=ItemInsertBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemInsertBenchmark {
+    private static final int ROWS = 500;
+
+    @Param({"1", "50"})
+    private int allocationSize;
+    @Param({"1", "50"})
+    private int batchSize;
+    private ConfigurableApplicationContext context;
+    private ItemRepository itemRepository;
+    private TransactionTemplate transactionTemplate;
+    private User owner;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:insert" + allocationSize + "x" + batchSize,
+                        "--shareit.id.allocation-size=" + allocationSize,
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--logging.level.root=WARN");
+        itemRepository = context.getBean(ItemRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        owner = context.getBean(UserRepository.class)
+                .save(User.builder().name("owner").email("owner@bench.ru").build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Item> insert() {
+        List<Item> items = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            items.add(Item.builder().name("item" + i).description("description").available(true).owner(owner)
+                    .build());
+        }
+        return transactionTemplate.execute(status -> itemRepository.saveAll(items));
+    }
+}
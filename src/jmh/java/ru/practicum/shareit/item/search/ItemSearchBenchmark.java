@@ -0,0 +1,111 @@
+package ru.practicum.shareit.item.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JPQL double-LIKE search with the in-process indexes on an H2 catalog.
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.includes=ItemSearchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ItemSearchBenchmark {
+    private static final String[] WORDS = {"drill", "hammer", "saw", "ladder", "tent", "bike", "kayak", "camera",
+            "tripod", "projector", "speaker", "grill", "mixer", "vacuum", "scooter", "board"};
+    private static final String INSERT = "insert into items(name, description, is_available, owner_id) "
+            + "values (?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 10_000;
+    private final Pageable page = PageRequest.of(0, 20);
+
+    @Param({"10000", "100000", "1000000"})
+    private int itemCount;
+    private ConfigurableApplicationContext context;
+    private ItemRepository itemRepository;
+    private InvertedIndexItemSearchEngine invertedIndex;
+    private TrigramItemSearchEngine trigramIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:search" + itemCount, "--logging.level.root=WARN");
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into users(name, email) values ('owner', 'owner@bench.ru')");
+        Long ownerId = jdbcTemplate.queryForObject("select max(id) from users", Long.class);
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < itemCount; i++) {
+            rows.add(new Object[]{word(random) + " " + i,
+                    word(random) + " " + word(random) + " " + word(random),
+                    random.nextInt(10) > 0,
+                    ownerId});
+            if (rows.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT, rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, rows);
+        }
+        itemRepository = context.getBean(ItemRepository.class);
+        invertedIndex = new InvertedIndexItemSearchEngine(itemRepository);
+        invertedIndex.rebuild();
+        trigramIndex = new TrigramItemSearchEngine(itemRepository);
+        trigramIndex.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Item> jpql() {
+        return itemRepository.searchAvailableItems("kayak", page);
+    }
+
+    @Benchmark
+    public Page<Item> invertedIndex() {
+        return invertedIndex.search("kayak", page);
+    }
+
+    @Benchmark
+    public Page<Item> trigramIndex() {
+        return trigramIndex.search("yak", page);
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.item.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import ru.practicum.shareit.BenchmarkData;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.projection.ItemBookingProjection;
+import ru.practicum.shareit.booking.projection.ItemBookingView;
+import ru.practicum.shareit.booking.repositories.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.ItemView;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserValidator;
+import ru.practicum.shareit.util.ReadTransactions;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Owner item listing without the database: last/next bookings from a warm {@link ItemBookingProjection} and
+ * comments grouped per item, i.e. the setBookings/setComments work of {@link ItemServiceImpl#getAllUserItems}.
+ * Repositories are plain interface stubs returning prepared rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemServiceBenchmark {
+    private static final long OWNER_ID = 1L;
+
+    @Param({"20", "100"})
+    private int pageSize;
+    @Param({"10"})
+    private int commentsPerItem;
+    private ItemServiceImpl itemService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData();
+        List<User> users = data.users(1000);
+        List<Item> items = data.items(pageSize, List.of(users.get(0)), List.of());
+        List<ItemView> views = items.stream()
+                .map(item -> new ItemView(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                        null))
+                .collect(Collectors.toList());
+        List<ItemBookingView> bookings = lastAndNext(data.bookings(pageSize * 20, items, users), items);
+        List<Comment> comments = data.comments(pageSize * commentsPerItem, items, users);
+
+        ItemRepository itemRepository = BenchmarkData.stub(ItemRepository.class, Map.of(
+                "findViewsByOwnerId", args -> page(views, (Pageable) args[1])));
+        BookingRepository bookingRepository = BenchmarkData.stub(BookingRepository.class, Map.of(
+                "findLastAndNextApproved", args -> bookings));
+        CommentRepository commentRepository = BenchmarkData.stub(CommentRepository.class, Map.of(
+                "findAllByItemIdIn", args -> comments));
+        UserRepository userRepository = BenchmarkData.stub(UserRepository.class, Map.of(
+                "findById", args -> Optional.of(users.get(0))));
+        itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository,
+                null, null, new ItemBookingProjection(bookingRepository), null,
+                new UserValidator(userRepository, true, 1 << 20), new ReadTransactions(transactionManager(), false, 1));
+        itemService.getAllUserItems(OWNER_ID, 0, pageSize);
+    }
+
+    private static List<ItemBookingView> lastAndNext(List<Booking> bookings, List<Item> items) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, List<Booking>> byItem = bookings.stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        List<ItemBookingView> views = new ArrayList<>();
+        for (Item item : items) {
+            List<Booking> itemBookings = byItem.getOrDefault(item.getId(), List.of());
+            itemBookings.stream()
+                    .filter(booking -> booking.getStart().isBefore(now))
+                    .max(Comparator.comparing(Booking::getStart))
+                    .ifPresent(last -> views.add(view(last, ItemBookingView.LAST)));
+            itemBookings.stream()
+                    .filter(booking -> booking.getStart().isAfter(now))
+                    .min(Comparator.comparing(Booking::getStart))
+                    .ifPresent(next -> views.add(view(next, ItemBookingView.NEXT)));
+        }
+        return views;
+    }
+
+    private static ItemBookingView view(Booking booking, String kind) {
+        return BenchmarkData.stub(ItemBookingView.class, Map.of(
+                "getItemId", args -> booking.getItem().getId(),
+                "getId", args -> booking.getId(),
+                "getStart", args -> booking.getStart(),
+                "getEnd", args -> booking.getEnd(),
+                "getBookerId", args -> booking.getBooker().getId(),
+                "getKind", args -> kind));
+    }
+
+    private static PlatformTransactionManager transactionManager() {
+        return BenchmarkData.stub(PlatformTransactionManager.class, Map.of(
+                "getTransaction", args -> new SimpleTransactionStatus(),
+                "commit", args -> null,
+                "rollback", args -> null));
+    }
+
+    private static Page<ItemView> page(List<ItemView> views, Pageable pageable) {
+        return new PageImpl<>(views, pageable, views.size());
+    }
+
+    @Benchmark
+    public Page<ItemDto> getAllUserItems() {
+        return itemService.getAllUserItems(OWNER_ID, 0, pageSize);
+    }
+}
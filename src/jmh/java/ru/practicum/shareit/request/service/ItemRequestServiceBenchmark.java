@@ -0,0 +1,84 @@
+package ru.practicum.shareit.request.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.BenchmarkData;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserValidator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grouping of answering items by request in {@code itemRequestsToDto}, measured through
+ * {@link ItemRequestServiceImpl#getOtherUserRequests} with stubbed repositories.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemRequestServiceBenchmark {
+    private static final long USER_ID = 1L;
+
+    @Param({"20", "100"})
+    private int pageSize;
+    @Param({"1", "10"})
+    private int itemsPerRequest;
+    private ItemRequestServiceImpl itemRequestService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData();
+        List<User> users = data.users(1000);
+        List<ItemRequest> requests = data.requests(pageSize, users);
+        List<Item> items = new ArrayList<>();
+        for (ItemRequest request : requests) {
+            for (Item item : data.items(itemsPerRequest, users, List.of(request))) {
+                item.setRequest(request);
+                items.add(item);
+            }
+        }
+
+        ItemRequestRepository itemRequestRepository = BenchmarkData.stub(ItemRequestRepository.class, Map.of(
+                "findAllByRequesterIdNot", args -> page(requests, (Pageable) args[1])));
+        ItemRepository itemRepository = BenchmarkData.stub(ItemRepository.class, Map.of(
+                "findAllByRequestIdIn", args -> items));
+        UserRepository userRepository = BenchmarkData.stub(UserRepository.class, Map.of(
+                "findById", args -> Optional.of(users.get(0))));
+        itemRequestService = new ItemRequestServiceImpl(itemRequestRepository, userRepository, itemRepository,
+                new UserValidator(userRepository, true, 1 << 20));
+    }
+
+    private static Page<ItemRequest> page(List<ItemRequest> requests, Pageable pageable) {
+        return new PageImpl<>(requests, pageable, requests.size());
+    }
+
+    @Benchmark
+    public Page<ItemRequestDto> getOtherUserRequests() {
+        return itemRequestService.getOtherUserRequests(USER_ID, 0, pageSize);
+    }
+}
@@ -0,0 +1,137 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Bulk-loads a deterministic data set with plain JDBC batches. Ids are assigned here and identity columns
+ * and sequences are restarted afterwards; the SQL is the same for H2 and PostgreSQL.
+ */
+@Slf4j
+public class DataSeeder {
+    static final String[] WORDS = {"drill", "saw", "hammer", "ladder", "tent", "bike", "kayak", "camera",
+            "projector", "grill", "mixer", "scooter", "telescope", "guitar", "vacuum", "sander"};
+    private static final int BATCH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoadConfig config;
+    private final Random random = new Random(42);
+    private final LocalDateTime now = LocalDateTime.now();
+
+    public DataSeeder(JdbcTemplate jdbcTemplate, LoadConfig config) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = config;
+    }
+
+    public void seed() {
+        Long existing = jdbcTemplate.queryForObject("select count(*) from users", Long.class);
+        if (existing != null && existing > 0) {
+            if (!config.isReset()) {
+                throw new IllegalStateException("Database already has users; pass -Dload.reset=true to wipe it");
+            }
+            for (String table : List.of("comments", "bookings", "items", "requests", "users")) {
+                jdbcTemplate.update("delete from " + table);
+            }
+        }
+        long start = System.nanoTime();
+        seedUsers();
+        seedRequests();
+        seedItems();
+        seedBookings();
+        seedComments();
+        log.warn("Seeded {} users, {} requests, {} items, {} bookings, {} comments in {} ms", config.getUsers(),
+                config.getRequests(), config.getItems(), config.getBookings(), config.getComments(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void seedUsers() {
+        insert("insert into users (id, name, email) values (?, ?, ?)", config.getUsers(),
+                id -> new Object[]{id, "user" + id, "user" + id + "@load.test"});
+        restart("users", config.getUsers());
+    }
+
+    private void seedRequests() {
+        insert("insert into requests (id, description, request_id, created) values (?, ?, ?, ?)",
+                config.getRequests(),
+                id -> new Object[]{id, "need a " + word(), booker(), past()});
+        restart("requests", config.getRequests());
+    }
+
+    private void seedItems() {
+        insert("insert into items (id, name, description, is_available, owner_id, request_id) "
+                        + "values (?, ?, ?, ?, ?, ?)", config.getItems(),
+                id -> new Object[]{id, word() + " " + id, word() + " " + word() + " in good condition",
+                        random.nextInt(10) != 0, config.ownerOf(id),
+                        config.getRequests() > 0 && id % 5 == 0 ? 1 + random.nextInt(config.getRequests()) : null});
+        restart("items", config.getItems());
+    }
+
+    private void seedBookings() {
+        BookingStatus[] statuses = BookingStatus.values();
+        insert("insert into bookings (id, start_booking, end_booking, item_id, booker_id, status) "
+                        + "values (?, ?, ?, ?, ?, ?)", config.getBookings(),
+                id -> {
+                    LocalDateTime start = now.plusHours(random.nextInt(24 * 730) - 24 * 365);
+                    return new Object[]{id, Timestamp.valueOf(start),
+                            Timestamp.valueOf(start.plusHours(1 + random.nextInt(72))),
+                            1 + random.nextInt(config.getItems()), booker(),
+                            statuses[random.nextInt(statuses.length)].name()};
+                });
+        restart("bookings", config.getBookings());
+    }
+
+    private void seedComments() {
+        insert("insert into comments (id, text, item_id, author_id, created) values (?, ?, ?, ?, ?)",
+                config.getComments(),
+                id -> new Object[]{id, "great " + word(), 1 + random.nextInt(config.getItems()), author(), past()});
+        restart("comments", config.getComments());
+    }
+
+    private void insert(String sql, long count, RowFactory rows) {
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (long id = 1; id <= count; id++) {
+            batch.add(rows.row(id));
+            if (batch.size() == BATCH) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    private void restart(String table, long count) {
+        jdbcTemplate.execute("alter table " + table + " alter column id restart with " + (count + 1));
+        jdbcTemplate.execute("alter sequence " + table + "_seq restart with " + (count + 1));
+    }
+
+    private long booker() {
+        return config.getOwners() + 1 + random.nextInt(config.getUsers() - config.getOwners());
+    }
+
+    private long author() {
+        // comments.author_id references items(id) in the V1 schema, so the author must be a valid item id too
+        long author = booker();
+        return author <= config.getItems() ? author : 1 + random.nextInt(config.getItems());
+    }
+
+    private Timestamp past() {
+        return Timestamp.valueOf(now.minusMinutes(1 + random.nextInt(60 * 24 * 365)));
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private interface RowFactory {
+        Object[] row(long id);
+    }
+}
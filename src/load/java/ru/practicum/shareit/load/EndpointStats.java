@@ -0,0 +1,84 @@
+package ru.practicum.shareit.load;
+
+import java.util.Arrays;
+
+/**
+ * Latencies, failures and reported statement counts of one endpoint. Each client thread fills its own instance;
+ * they are merged once the run is over.
+ */
+public class EndpointStats {
+    private long[] latencies = new long[1024];
+    private int count;
+    private long rejected;
+    private long errors;
+    private long statements;
+    private long statementSamples;
+
+    /**
+     * @param status HTTP status, or -1 when no response was received
+     */
+    public void record(long latencyNanos, int status, long statements) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (status < 0 || status >= 500) {
+            errors++;
+        } else if (status >= 400) {
+            rejected++;
+        }
+        if (statements >= 0) {
+            this.statements += statements;
+            statementSamples++;
+        }
+    }
+
+    public void merge(EndpointStats other) {
+        if (count + other.count > latencies.length) {
+            latencies = Arrays.copyOf(latencies, count + other.count);
+        }
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+        rejected += other.rejected;
+        errors += other.errors;
+        statements += other.statements;
+        statementSamples += other.statementSamples;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Requests answered with 4xx, e.g. booking an unavailable item.
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Requests answered with 5xx or not answered at all.
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Mean JDBC statements per request from the X-Query-Statements header, or -1 if the server did not send it.
+     */
+    public double getStatementsPerRequest() {
+        return statementSamples == 0 ? -1 : (double) statements / statementSamples;
+    }
+
+    /**
+     * Latency percentile in milliseconds, nearest-rank. Sorts the samples, so call it after all merges.
+     */
+    public double percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        Arrays.sort(latencies, 0, count);
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return latencies[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.load;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Harness settings, read from {@code -Dload.*} system properties.
+ */
+@Getter
+public class LoadConfig {
+    private final int users = Integer.getInteger("load.users", 2_000);
+    /**
+     * Users 1..owners own all items; the remaining users book, comment and request.
+     */
+    private final int owners = Math.max(1, users / 10);
+    private final int requests = Integer.getInteger("load.requests", 2_000);
+    private final int items = Integer.getInteger("load.items", 20_000);
+    private final int bookings = Integer.getInteger("load.bookings", 100_000);
+    private final int comments = Integer.getInteger("load.comments", 20_000);
+    private final int clients = Integer.getInteger("load.clients", 32);
+    private final Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup", 10));
+    private final Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 60));
+    /**
+     * Base URL of an already running application; when absent the harness starts one itself.
+     */
+    private final String url = System.getProperty("load.url");
+    /**
+     * Profile of the embedded application; {@code test} runs on in-memory H2.
+     */
+    private final String profile = System.getProperty("load.profile", "test");
+    /**
+     * Request threads of the embedded application: {@code platform}, {@code virtual} or {@code both}.
+     */
+    private final String threads = System.getProperty("load.threads", "platform");
+    private final boolean seed = Boolean.parseBoolean(System.getProperty("load.seed", "true"));
+    private final boolean reset = Boolean.getBoolean("load.reset");
+    private final String jdbcUrl = System.getProperty("load.jdbc-url");
+    private final String jdbcUser = System.getProperty("load.jdbc-user");
+    private final String jdbcPassword = System.getProperty("load.jdbc-password");
+    private final String report = System.getProperty("load.report", "target/load-report.csv");
+
+    public long ownerOf(long itemId) {
+        return 1 + itemId % owners;
+    }
+}
@@ -0,0 +1,264 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.monitoring.QueryStatsFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static ru.practicum.shareit.constant.HeaderConstant.USER_ID_IN_HEADER;
+
+/**
+ * End-to-end load run: seeds the database, drives a mixed workload from {@code load.clients} concurrent clients
+ * and prints throughput, latency percentiles and JDBC statements per endpoint.
+ *
+ * <pre>
+ * mvn -Pload test-compile exec:java -Dload.clients=64 -Dload.duration=120
+ * mvn -Pload test-compile exec:java -Dload.profile= -Dspring.datasource.url=jdbc:postgresql://localhost/shareit ...
+ * mvn -Pload test-compile exec:java -Dload.threads=both -Dload.clients=1000
+ * </pre>
+ *
+ * {@code load.threads=both} runs the same workload against a fresh application on Tomcat's platform pool and then
+ * on virtual threads (Java 21+), writing one report per mode. Against a persistent database it also needs
+ * {@code load.reset=true}.
+ *
+ * Statement counts come from the X-Query-Statements header, which the embedded application always sends; an
+ * external one has to run with {@code shareit.query-stats.headers=true}.
+ */
+@Slf4j
+public class LoadTest {
+    private final LoadConfig config;
+    private final String baseUrl;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public LoadTest(LoadConfig config, String baseUrl) {
+        this.config = config;
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config = new LoadConfig();
+        if (config.getUrl() != null) {
+            if (config.isSeed()) {
+                new DataSeeder(new JdbcTemplate(dataSource(config, null)), config).seed();
+            }
+            LoadTest loadTest = new LoadTest(config, config.getUrl());
+            loadTest.report(loadTest.measure(), Path.of(config.getReport()));
+            return;
+        }
+        List<String> modes = config.getThreads().equals("both") ? List.of("platform", "virtual")
+                : List.of(config.getThreads());
+        for (String mode : modes) {
+            System.out.println("== " + mode + " request threads");
+            Path report = Path.of(modes.size() == 1 ? config.getReport()
+                    : config.getReport().replaceFirst("(\\.csv)?$", "-" + mode + ".csv"));
+            runEmbedded(config, mode.equals("virtual"), report);
+        }
+    }
+
+    private static void runEmbedded(LoadConfig config, boolean virtualThreads, Path report) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItApp.class)
+                .profiles(config.getProfile().isBlank() ? new String[0] : new String[]{config.getProfile()})
+                .run("--server.port=0",
+                        "--shareit.web.virtual-threads=" + virtualThreads,
+                        "--shareit.query-stats.headers=true",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+        try {
+            if (config.isSeed()) {
+                new DataSeeder(new JdbcTemplate(dataSource(config, context)), config).seed();
+            }
+            LoadTest loadTest = new LoadTest(config,
+                    "http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            loadTest.report(loadTest.measure(), report);
+        } finally {
+            context.close();
+        }
+    }
+
+    private Map<String, EndpointStats> measure() throws Exception {
+        run(config.getWarmup());
+        return run(config.getDuration());
+    }
+
+    private static DataSource dataSource(LoadConfig config, ConfigurableApplicationContext context) {
+        if (config.getJdbcUrl() != null) {
+            return new DriverManagerDataSource(config.getJdbcUrl(), config.getJdbcUser(), config.getJdbcPassword());
+        }
+        if (context == null) {
+            throw new IllegalStateException("Seeding an external application needs -Dload.jdbc-url");
+        }
+        return context.getBean(DataSource.class);
+    }
+
+    private Map<String, EndpointStats> run(Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(config.getClients());
+        try {
+            List<Future<Map<String, EndpointStats>>> results = new ArrayList<>();
+            for (int i = 0; i < config.getClients(); i++) {
+                long seed = i;
+                results.add(clients.submit(() -> client(new Random(seed), deadline)));
+            }
+            Map<String, EndpointStats> merged = new TreeMap<>();
+            for (Future<Map<String, EndpointStats>> result : results) {
+                result.get().forEach((endpoint, stats) ->
+                        merged.computeIfAbsent(endpoint, e -> new EndpointStats()).merge(stats));
+            }
+            return merged;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    /**
+     * One client: 30% search, 20% owner item listing, 30% booker listing in a random state, 10% owner booking
+     * listing and 10% booking create followed by the owner's approval.
+     */
+    private Map<String, EndpointStats> client(Random random, long deadline) {
+        Map<String, EndpointStats> stats = new TreeMap<>();
+        State[] states = State.values();
+        while (System.nanoTime() < deadline) {
+            int pick = random.nextInt(100);
+            long booker = booker(random);
+            if (pick < 30) {
+                String word = DataSeeder.WORDS[random.nextInt(DataSeeder.WORDS.length)];
+                call(stats, "GET /items/search", get("/items/search?text=" + word, booker));
+            } else if (pick < 50) {
+                call(stats, "GET /items", get("/items", 1 + random.nextInt(config.getOwners())));
+            } else if (pick < 80) {
+                State state = states[random.nextInt(states.length)];
+                call(stats, "GET /bookings?state=" + state, get("/bookings?state=" + state, booker));
+            } else if (pick < 90) {
+                call(stats, "GET /bookings/owner", get("/bookings/owner", 1 + random.nextInt(config.getOwners())));
+            } else {
+                createAndApprove(stats, random, booker);
+            }
+        }
+        return stats;
+    }
+
+    private void createAndApprove(Map<String, EndpointStats> stats, Random random, long booker) {
+        long itemId = 1 + random.nextInt(config.getItems());
+        LocalDateTime start = LocalDateTime.now().plusDays(1 + random.nextInt(3650)).truncatedTo(ChronoUnit.HOURS);
+        String body = String.format("{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}", itemId, start,
+                start.plusHours(1 + random.nextInt(48)));
+        HttpResponse<String> created = call(stats, "POST /bookings", HttpRequest.newBuilder(uri("/bookings"))
+                .header(USER_ID_IN_HEADER, String.valueOf(booker))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+        if (created == null || created.statusCode() != 200) {
+            return;
+        }
+        long bookingId;
+        try {
+            JsonNode booking = objectMapper.readTree(created.body());
+            bookingId = booking.get("id").asLong();
+        } catch (IOException e) {
+            return;
+        }
+        call(stats, "PATCH /bookings/{id}", HttpRequest.newBuilder(uri("/bookings/" + bookingId + "?approved=true"))
+                .header(USER_ID_IN_HEADER, String.valueOf(config.ownerOf(itemId)))
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build());
+    }
+
+    private HttpResponse<String> call(Map<String, EndpointStats> stats, String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        HttpResponse<String> response = null;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            log.debug("{} failed", endpoint, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long latency = System.nanoTime() - start;
+        long statements = response == null ? -1 : response.headers()
+                .firstValueAsLong(QueryStatsFilter.STATEMENTS_HEADER).orElse(-1);
+        stats.computeIfAbsent(endpoint, e -> new EndpointStats())
+                .record(latency, response == null ? -1 : response.statusCode(), statements);
+        return response;
+    }
+
+    private HttpRequest get(String path, long userId) {
+        return HttpRequest.newBuilder(uri(path))
+                .header(USER_ID_IN_HEADER, String.valueOf(userId))
+                .GET()
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private long booker(Random random) {
+        return config.getOwners() + 1 + random.nextInt(config.getUsers() - config.getOwners());
+    }
+
+    private void report(Map<String, EndpointStats> stats, Path report) throws IOException {
+        double seconds = config.getDuration().toMillis() / 1000.0;
+        String header = String.format("%-28s %9s %8s %7s %9s %8s %8s %8s %9s", "endpoint", "requests", "rejected",
+                "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "stmts/req");
+        List<String> csv = new ArrayList<>();
+        csv.add("endpoint,requests,rejected,errors,rps,p50_ms,p99_ms,p999_ms,statements_per_request");
+        System.out.println(header);
+        long total = 0;
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats s = entry.getValue();
+            total += s.getCount();
+            double p50 = s.percentile(50);
+            double p99 = s.percentile(99);
+            double p999 = s.percentile(99.9);
+            System.out.println(String.format("%-28s %9d %8d %7d %9.1f %8.2f %8.2f %8.2f %9.1f", entry.getKey(),
+                    s.getCount(), s.getRejected(), s.getErrors(), s.getCount() / seconds, p50, p99, p999,
+                    s.getStatementsPerRequest()));
+            csv.add(String.format(Locale.ROOT, "%s,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.2f", entry.getKey(),
+                    s.getCount(), s.getRejected(), s.getErrors(), s.getCount() / seconds, p50, p99, p999,
+                    s.getStatementsPerRequest()));
+        }
+        System.out.println(String.format("%d requests in %.0f s from %d clients: %.1f req/s", total, seconds,
+                config.getClients(), total / seconds));
+        if (report.getParent() != null) {
+            Files.createDirectories(report.getParent());
+        }
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(report, StandardCharsets.UTF_8))) {
+            csv.forEach(writer::println);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Sequence for pooled booking ids, started past the existing rows. Hibernate's pooled optimizer hands out the
+ * block ending at the fetched value, so the first value must be at least max(id) + allocation size. Written in
+ * Java because H2 and PostgreSQL share the migrations and have no common way to start a sequence at a queried
+ * value.
+ */
+public class V4__create_bookings_sequence extends BaseJavaMigration {
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long maxId;
+            try (ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM bookings")) {
+                resultSet.next();
+                maxId = resultSet.getLong(1);
+            }
+            statement.execute(String.format("CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH %d INCREMENT BY %d",
+                    maxId + ALLOCATION_SIZE, ALLOCATION_SIZE));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import ru.practicum.shareit.util.PooledLoSequenceGenerator;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * One sequence per table for {@link PooledLoSequenceGenerator}, incremented by the allocation size (placeholder
+ * {@code id-allocation-size}) and restarted past the existing rows. A pooled-lo block starts at the fetched
+ * value, so max(id) + 1 is the first free one; this also covers {@code bookings_seq} of V4, whose pooled blocks
+ * ended at the fetched value.
+ */
+public class V5__create_id_sequences extends BaseJavaMigration {
+    private static final List<String> TABLES = List.of("users", "requests", "items", "bookings", "comments");
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        String allocationSize = context.getConfiguration().getPlaceholders().getOrDefault("id-allocation-size",
+                String.valueOf(PooledLoSequenceGenerator.DEFAULT_ALLOCATION_SIZE));
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String table : TABLES) {
+                long maxId;
+                try (ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+                    resultSet.next();
+                    maxId = resultSet.getLong(1);
+                }
+                String sequence = table + "_seq";
+                statement.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence);
+                statement.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + Long.parseLong(allocationSize));
+                statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + 1));
+            }
+        }
+    }
+}
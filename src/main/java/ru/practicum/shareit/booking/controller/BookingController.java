@@ -1,7 +1,12 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -12,13 +17,21 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.InputBookingDto;
 import ru.practicum.shareit.booking.dto.OutputBookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.util.CursorPage;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 import static ru.practicum.shareit.constant.HeaderConstant.USER_ID_IN_HEADER;
 
@@ -27,8 +40,10 @@ import static ru.practicum.shareit.constant.HeaderConstant.USER_ID_IN_HEADER;
 @RequiredArgsConstructor
 @Validated
 public class BookingController {
+    public static final int MAX_BATCH_SIZE = 500;
 
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public OutputBookingDto create(@RequestHeader(USER_ID_IN_HEADER) long userId,
@@ -43,6 +58,20 @@ public class BookingController {
         return bookingService.approveBooking(bookingId, userId, approved);
     }
 
+    @PostMapping("/batch")
+    public List<OutputBookingDto> createAll(@RequestHeader(USER_ID_IN_HEADER) long userId,
+                                            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                            List<@Valid InputBookingDto> bookings) {
+        return bookingService.createAll(bookings, userId);
+    }
+
+    @PatchMapping("/batch")
+    public List<OutputBookingDto> approveAll(@RequestHeader(USER_ID_IN_HEADER) Long userId,
+                                             @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                             List<@Valid BookingApprovalDto> approvals) {
+        return bookingService.approveAll(approvals, userId);
+    }
+
     @GetMapping("/{bookingId}")
     public OutputBookingDto getById(@RequestHeader(USER_ID_IN_HEADER) Long userId, @PathVariable Long bookingId) {
         return bookingService.getBookingDtoById(bookingId, userId);
@@ -63,4 +92,47 @@ public class BookingController {
                                                      @RequestParam(defaultValue = "20") @Positive int size) {
         return bookingService.getBookingsOfOwner(state, userId, from, size);
     }
+
+    /**
+     * The owner's whole booking history as newline-delimited JSON, written while it is read: no page is held in
+     * memory and no count query runs. The content type is set with the first row, so that errors raised before
+     * it still get the usual JSON error response.
+     */
+    @GetMapping("/owner/export")
+    public void exportBookingsOfOwner(@RequestHeader(USER_ID_IN_HEADER) Long userId,
+                                      @RequestParam(defaultValue = "ALL") String state,
+                                      HttpServletResponse response) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())
+                .setRootValueSeparator(null);
+        bookingService.exportBookingsOfOwner(state, userId, booking -> {
+            if (response.getContentType() == null) {
+                response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            }
+            try {
+                writer.writeValue(generator, booking);
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        generator.flush();
+    }
+
+    @GetMapping(params = "cursor")
+    public CursorPage<OutputBookingDto> getBookingsOfBooker(@RequestHeader(USER_ID_IN_HEADER) Long userId,
+                                                            @RequestParam(defaultValue = "ALL") String state,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "30") @Positive int size) {
+        return bookingService.getBookingsOfBooker(state, userId, cursor, size);
+    }
+
+    @GetMapping(path = "/owner", params = "cursor")
+    public CursorPage<OutputBookingDto> getBookingsOfOwner(@RequestHeader(USER_ID_IN_HEADER) Long userId,
+                                                           @RequestParam(defaultValue = "ALL") String state,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "20") @Positive int size) {
+        return bookingService.getBookingsOfOwner(state, userId, cursor, size);
+    }
 }
\ No newline at end of file
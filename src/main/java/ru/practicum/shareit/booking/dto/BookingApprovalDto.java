@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(force = true)
+public class BookingApprovalDto {
+    @NotNull
+    private Long bookingId;
+    @NotNull
+    private Boolean approved;
+}
@@ -3,7 +3,10 @@ package ru.practicum.shareit.booking.mapper;
 import ru.practicum.shareit.booking.dto.OutputBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.dto.ShortBookingDto;
+import ru.practicum.shareit.booking.projection.BookingView;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 
 import java.util.List;
@@ -24,6 +27,33 @@ public class BookingMapper {
                 .build();
     }
 
+    public static OutputBookingDto toOutputBookingDto(BookingView booking) {
+        return OutputBookingDto.builder()
+                .id(booking.getId())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .item(ItemDto.builder()
+                        .id(booking.getItemId())
+                        .name(booking.getItemName())
+                        .description(booking.getItemDescription())
+                        .available(booking.getItemAvailable())
+                        .requestId(booking.getItemRequestId())
+                        .build())
+                .booker(UserDto.builder()
+                        .id(booking.getBookerId())
+                        .name(booking.getBookerName())
+                        .email(booking.getBookerEmail())
+                        .build())
+                .status(booking.getStatus())
+                .build();
+    }
+
+    public static List<OutputBookingDto> toOutputBookingDtoListFromViews(List<BookingView> bookings) {
+        return bookings.stream()
+                .map(BookingMapper::toOutputBookingDto)
+                .collect(Collectors.toList());
+    }
+
     public static List<OutputBookingDto> toOutputsBookingDtoList(List<Booking> bookings) {
         return bookings.stream()
                 .map(BookingMapper::toOutputBookingDto)
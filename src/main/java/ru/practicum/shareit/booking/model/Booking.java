@@ -6,9 +6,12 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.proxy.HibernateProxy;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.PooledLoSequenceGenerator;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -16,11 +19,11 @@ import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
@@ -34,7 +37,9 @@ import java.util.Objects;
 @AllArgsConstructor
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "bookings_seq")
+    @GenericGenerator(name = "bookings_seq", strategy = PooledLoSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "bookings_seq"))
     private Long id;
     @Column(name = "start_booking")
     private LocalDateTime start;
@@ -50,6 +55,8 @@ public class Booking {
     private User booker;
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
+    @Version
+    private long version;
 
     @Override
     public final boolean equals(Object o) {
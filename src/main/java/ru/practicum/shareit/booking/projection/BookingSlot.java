@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.projection;
+
+import lombok.Value;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+
+@Value
+public class BookingSlot {
+    long id;
+    LocalDateTime start;
+    LocalDateTime end;
+    long bookerId;
+
+    public static BookingSlot of(Booking booking) {
+        return booking == null ? null : new BookingSlot(booking.getId(), booking.getStart(), booking.getEnd(),
+                booking.getBooker().getId());
+    }
+
+    public static BookingSlot of(ItemBookingView view) {
+        return new BookingSlot(view.getId(), view.getStart(), view.getEnd(), view.getBookerId());
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.projection;
+
+import lombok.Value;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat row with the booking, item and booker columns that {@code OutputBookingDto} needs, so booking lists are
+ * read in one statement without hydrating entities or initializing lazy proxies.
+ */
+@Value
+public class BookingView {
+    Long id;
+    LocalDateTime start;
+    LocalDateTime end;
+    BookingStatus status;
+    Long itemId;
+    String itemName;
+    String itemDescription;
+    Boolean itemAvailable;
+    Long itemRequestId;
+    Long bookerId;
+    String bookerName;
+    String bookerEmail;
+}
@@ -0,0 +1,155 @@
+package ru.practicum.shareit.booking.projection;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repositories.BookingRepository;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-item last/next approved bookings kept up to date from booking approvals, so the owner's item list
+ * reads only the bookings of items that are not projected yet. Missing items are resolved in the database
+ * with window functions. Deletes that cascade to bookings must {@link #evict} the items or {@link #evictAll}.
+ * <p>
+ * With a read replica configured, misses met inside a read-only transaction are loaded in a new transaction on
+ * the primary: a lagging replica could miss an approval that already bumped the generation, and the stale
+ * result would be kept until the next eviction.
+ */
+@Component
+public class ItemBookingProjection {
+    private final BookingRepository bookingRepository;
+    private final Clock clock;
+    private final TransactionTemplate primary;
+    private final Map<Long, ItemBookings> projections = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public ItemBookingProjection(BookingRepository bookingRepository, PlatformTransactionManager transactionManager,
+                                 @Value("${shareit.datasource.replica.jdbc-url:}") String replicaUrl) {
+        this(bookingRepository, Clock.systemDefaultZone(),
+                replicaUrl.isBlank() ? null : primaryTransaction(transactionManager));
+    }
+
+    public ItemBookingProjection(BookingRepository bookingRepository) {
+        this(bookingRepository, Clock.systemDefaultZone(), null);
+    }
+
+    public ItemBookingProjection(BookingRepository bookingRepository, Clock clock) {
+        this(bookingRepository, clock, null);
+    }
+
+    private ItemBookingProjection(BookingRepository bookingRepository, Clock clock, TransactionTemplate primary) {
+        this.bookingRepository = bookingRepository;
+        this.clock = clock;
+        this.primary = primary;
+    }
+
+    private static TransactionTemplate primaryTransaction(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    public Map<Long, ItemBookings> get(Collection<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Map<Long, ItemBookings> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long itemId : itemIds) {
+            ItemBookings bookings = projections.get(itemId);
+            if (bookings == null || bookings.isStale(now)) {
+                missing.add(itemId);
+            } else {
+                result.put(itemId, bookings);
+            }
+        }
+        if (!missing.isEmpty()) {
+            result.putAll(load(missing, now));
+        }
+        return result;
+    }
+
+    public void onApproved(Booking booking) {
+        if (booking.getStatus() != BookingStatus.APPROVED) {
+            return;
+        }
+        Long itemId = booking.getItem().getId();
+        BookingSlot slot = BookingSlot.of(booking);
+        afterCommit(() -> {
+            synchronized (projections) {
+                projections.computeIfPresent(itemId, (id, bookings) -> bookings.with(slot, LocalDateTime.now(clock)));
+                generation.incrementAndGet();
+            }
+        });
+    }
+
+    public void evict(Long itemId) {
+        afterCommit(() -> {
+            synchronized (projections) {
+                projections.remove(itemId);
+                generation.incrementAndGet();
+            }
+        });
+    }
+
+    public void evictAll() {
+        afterCommit(() -> {
+            synchronized (projections) {
+                projections.clear();
+                generation.incrementAndGet();
+            }
+        });
+    }
+
+    private Map<Long, ItemBookings> load(List<Long> itemIds, LocalDateTime now) {
+        long stamp = generation.get();
+        boolean onReplica = primary != null && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        Map<Long, ItemBookings> loaded = onReplica ? primary.execute(status -> query(itemIds, now))
+                : query(itemIds, now);
+        synchronized (projections) {
+            if (generation.get() == stamp) {
+                projections.putAll(loaded);
+            }
+        }
+        return loaded;
+    }
+
+    private Map<Long, ItemBookings> query(List<Long> itemIds, LocalDateTime now) {
+        Map<Long, BookingSlot> last = new HashMap<>();
+        Map<Long, BookingSlot> next = new HashMap<>();
+        for (ItemBookingView view : bookingRepository.findLastAndNextApproved(itemIds, now)) {
+            (ItemBookingView.LAST.equals(view.getKind()) ? last : next).put(view.getItemId(), BookingSlot.of(view));
+        }
+        Map<Long, ItemBookings> loaded = new HashMap<>();
+        itemIds.forEach(itemId -> loaded.put(itemId, new ItemBookings(last.get(itemId), next.get(itemId))));
+        return loaded;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.projection;
+
+import java.time.LocalDateTime;
+
+public interface ItemBookingView {
+    String LAST = "LAST";
+    String NEXT = "NEXT";
+
+    Long getItemId();
+
+    Long getId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+
+    Long getBookerId();
+
+    String getKind();
+}
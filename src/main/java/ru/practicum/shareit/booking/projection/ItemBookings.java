@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking.projection;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last (latest start before now) and next (earliest start after now) approved bookings of an item.
+ */
+@Value
+public class ItemBookings {
+    public static final ItemBookings EMPTY = new ItemBookings(null, null);
+    BookingSlot last;
+    BookingSlot next;
+
+    public ItemBookings with(BookingSlot slot, LocalDateTime now) {
+        BookingSlot newLast = last;
+        BookingSlot newNext = next;
+        if (slot.getStart().isBefore(now) && (last == null || slot.getStart().isAfter(last.getStart()))) {
+            newLast = slot;
+        }
+        if (slot.getStart().isAfter(now) && (next == null || slot.getStart().isBefore(next.getStart()))) {
+            newNext = slot;
+        }
+        return new ItemBookings(newLast, newNext);
+    }
+
+    /**
+     * Once the next booking has started it has to become the last one, which needs the full history.
+     */
+    public boolean isStale(LocalDateTime now) {
+        return next != null && !next.getStart().isAfter(now);
+    }
+}
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.booking.repositories;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -8,14 +10,23 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.projection.BookingView;
+import ru.practicum.shareit.booking.projection.ItemBookingView;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking>,
+        BookingRepositoryCustom {
     Sort SORT_BY_START_BY_DESC = Sort.by(Sort.Direction.DESC, "start");
+    Sort SORT_BY_START_AND_ID_DESC = Sort.by(Sort.Direction.DESC, "start", "id");
+    String OWNER_BOOKINGS = "select new ru.practicum.shareit.booking.projection.BookingView(b.id, b.start, b.end, " +
+            " b.status, i.id, i.name, i.description, i.available, r.id, u.id, u.name, u.email) " +
+            " from Booking b join b.item i left join i.request r join b.booker u where i.owner.id = :ownerId ";
+    String OWNER_BOOKINGS_COUNT = "select count(b) from Booking b join b.item i where i.owner.id = :ownerId ";
 
     @Query(value = "select b from Booking b where b.booker.id = ?1 and b.start < ?2 and b.end > ?2")
     List<Booking> findAllByBookerIdAndStartBeforeAndEndAfter(long bookerId, LocalDateTime dateTime);
@@ -24,6 +35,27 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpec
             " where o.id = :ownerId ")
     List<Booking> findAllByOwnerId(@Param("ownerId") Long ownerId);
 
+    @Query(value = OWNER_BOOKINGS, countQuery = OWNER_BOOKINGS_COUNT)
+    Page<BookingView> findOwnerBookings(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    @Query(value = OWNER_BOOKINGS + " and b.start < :now and b.end > :now",
+            countQuery = OWNER_BOOKINGS_COUNT + " and b.start < :now and b.end > :now")
+    Page<BookingView> findCurrentOwnerBookings(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+                                               Pageable pageable);
+
+    @Query(value = OWNER_BOOKINGS + " and b.end < :now", countQuery = OWNER_BOOKINGS_COUNT + " and b.end < :now")
+    Page<BookingView> findPastOwnerBookings(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+                                            Pageable pageable);
+
+    @Query(value = OWNER_BOOKINGS + " and b.start > :now", countQuery = OWNER_BOOKINGS_COUNT + " and b.start > :now")
+    Page<BookingView> findFutureOwnerBookings(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+                                              Pageable pageable);
+
+    @Query(value = OWNER_BOOKINGS + " and b.status = :status",
+            countQuery = OWNER_BOOKINGS_COUNT + " and b.status = :status")
+    Page<BookingView> findOwnerBookingsByStatus(@Param("ownerId") Long ownerId, @Param("status") BookingStatus status,
+                                                Pageable pageable);
+
     @Query(value = "select b from Booking b join fetch b.item as i join fetch i.owner as o " +
             " where o.id = :ownerId and b.status = :status")
     List<Booking> findAllByOwnerIdAndStatus(@Param("ownerId") Long ownerId, @Param("status") BookingStatus status);
@@ -44,8 +76,50 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpec
     List<Booking> findAllByOwnerIdAndStartBeforeAndEndAfter(@Param("ownerId") Long ownerId,
                                                             @Param("dateTime") LocalDateTime dateTime);
 
+    @Query(value = "select b.item.id from Booking b where b.id = :bookingId")
+    Optional<Long> findItemIdById(@Param("bookingId") long bookingId);
+
+    @Query(value = "select distinct b.item.id from Booking b where b.id in :bookingIds")
+    List<Long> findItemIdsByIdIn(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @Query(value = "select b from Booking b join fetch b.item i join fetch b.booker where b.id in :bookingIds")
+    List<Booking> findAllWithItemAndBookerByIdIn(@Param("bookingIds") Collection<Long> bookingIds);
+
     List<Booking> findAllByItemIdAndStatus(long itemId, BookingStatus status);
 
+    List<Booking> findAllByItemIdInAndStatus(Collection<Long> itemIds, BookingStatus status);
+
+    @Query(value = "select ranked.item_id as \"itemId\", ranked.id as \"id\", ranked.start_booking as \"start\", " +
+            " ranked.end_booking as \"end\", ranked.booker_id as \"bookerId\", ranked.kind as \"kind\" from ( " +
+            " select b.id, b.item_id, b.start_booking, b.end_booking, b.booker_id, 'LAST' as kind, " +
+            " row_number() over (partition by b.item_id order by b.start_booking desc) as rn " +
+            " from bookings b where b.item_id in (:itemIds) and b.status = 'APPROVED' and b.start_booking < :now " +
+            " union all " +
+            " select b.id, b.item_id, b.start_booking, b.end_booking, b.booker_id, 'NEXT' as kind, " +
+            " row_number() over (partition by b.item_id order by b.start_booking asc) as rn " +
+            " from bookings b where b.item_id in (:itemIds) and b.status = 'APPROVED' and b.start_booking > :now " +
+            ") ranked where ranked.rn = 1", nativeQuery = true)
+    List<ItemBookingView> findLastAndNextApproved(@Param("itemIds") Collection<Long> itemIds,
+                                                  @Param("now") LocalDateTime now);
+
+    @Query(value = "select count(b) > 0 from Booking b where b.item.id = :itemId and b.status = :status " +
+            " and b.start < :end and b.end > :start and b.id <> :bookingId")
+    boolean existsOverlap(@Param("itemId") long itemId, @Param("status") BookingStatus status,
+                          @Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                          @Param("bookingId") long bookingId);
+
+    /**
+     * Whether an approved booking of the item, other than {@code bookingId}, overlaps {@code [start, end)}. Served by
+     * the (item_id, status, start_booking) index.
+     */
+    default boolean existsApprovedOverlap(long itemId, LocalDateTime start, LocalDateTime end, long bookingId) {
+        return existsOverlap(itemId, BookingStatus.APPROVED, start, end, bookingId);
+    }
+
+    default boolean existsApprovedOverlap(long itemId, LocalDateTime start, LocalDateTime end) {
+        return existsApprovedOverlap(itemId, start, end, 0L);
+    }
+
     Optional<Booking> findFirstByItemIdAndBookerIdAndStatusAndEndBefore(long itemId, long bookerId,
                                                                         BookingStatus status, LocalDateTime end);
 }
\ No newline at end of file
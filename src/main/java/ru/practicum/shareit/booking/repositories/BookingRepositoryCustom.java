@@ -0,0 +1,45 @@
+package ru.practicum.shareit.booking.repositories;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.projection.BookingView;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Root;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingRepositoryCustom {
+    Page<BookingView> findViews(Specification<Booking> spec, Pageable pageable);
+
+    List<BookingView> findViews(Specification<Booking> spec, Sort sort, int limit);
+
+    /**
+     * All matching rows over a forward-only cursor, read {@code fetchSize} rows per round trip. Rows are projections,
+     * so nothing accumulates in the persistence context; the stream must be consumed and closed inside the
+     * transaction.
+     */
+    Stream<BookingView> streamViews(Specification<Booking> spec, Sort sort, int fetchSize);
+
+    /**
+     * Increments the item's version when the transaction flushes, so that of two concurrent transactions booking
+     * the same item only the first to commit succeeds. Transactions on different items never touch the same row.
+     */
+    void lockItem(Item item);
+
+    /**
+     * Join of the booking root by attribute, reusing the one {@link #findViews} created for its select list.
+     */
+    @SuppressWarnings("unchecked")
+    static <X> Join<Booking, X> join(Root<Booking> root, String attribute) {
+        return root.getJoins().stream()
+                .filter(join -> join.getAttribute().getName().equals(attribute))
+                .map(join -> (Join<Booking, X>) join)
+                .findFirst()
+                .orElseGet(() -> root.join(attribute));
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.booking.repositories;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.projection.BookingView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Root;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<BookingView> findViews(Specification<Booking> spec, Pageable pageable) {
+        TypedQuery<BookingView> query = createViewQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<BookingView> findViews(Specification<Booking> spec, Sort sort, int limit) {
+        return createViewQuery(spec, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<BookingView> streamViews(Specification<Booking> spec, Sort sort, int fetchSize) {
+        return createViewQuery(spec, sort)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public void lockItem(Item item) {
+        entityManager.lock(item, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+    }
+
+    private TypedQuery<BookingView> createViewQuery(Specification<Booking> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingView> query = cb.createQuery(BookingView.class);
+        Root<Booking> root = query.from(Booking.class);
+        Join<Booking, Item> item = root.join("item");
+        Join<Booking, User> booker = root.join("booker");
+        query.select(cb.construct(BookingView.class,
+                        root.get("id"), root.get("start"), root.get("end"), root.get("status"),
+                        item.get("id"), item.get("name"), item.get("description"), item.get("available"),
+                        item.join("request", JoinType.LEFT).get("id"),
+                        booker.get("id"), booker.get("name"), booker.get("email")))
+                .where(spec.toPredicate(root, query, cb))
+                .orderBy(toOrders(sort, root, cb));
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Booking> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Booking> root = query.from(Booking.class);
+        query.select(cb.count(root))
+                .where(spec.toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
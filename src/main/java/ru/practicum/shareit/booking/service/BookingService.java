@@ -1,9 +1,14 @@
 package ru.practicum.shareit.booking.service;
 
 import org.springframework.data.domain.Page;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.InputBookingDto;
 import ru.practicum.shareit.booking.dto.OutputBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.util.CursorPage;
+
+import java.util.List;
+import java.util.function.Consumer;
 
 
 public interface BookingService {
@@ -12,6 +17,16 @@ public interface BookingService {
 
     OutputBookingDto approveBooking(Long bookingId, Long userId, Boolean approve);
 
+    /**
+     * Creates all bookings or none: the first invalid one fails the whole batch.
+     */
+    List<OutputBookingDto> createAll(List<InputBookingDto> bookingDtos, Long userId);
+
+    /**
+     * Applies all decisions or none: the first invalid one fails the whole batch.
+     */
+    List<OutputBookingDto> approveAll(List<BookingApprovalDto> approvals, Long userId);
+
     Booking getBookingById(Long bookingId, Long userId);
 
     OutputBookingDto getBookingDtoById(Long bookingId, Long userId);
@@ -19,4 +34,13 @@ public interface BookingService {
     Page<OutputBookingDto> getBookingsOfBooker(String state, Long bookerId, int from, int size);
 
     Page<OutputBookingDto> getBookingsOfOwner(String state, Long ownerId, int from, int size);
+
+    CursorPage<OutputBookingDto> getBookingsOfBooker(String state, Long bookerId, String cursor, int size);
+
+    CursorPage<OutputBookingDto> getBookingsOfOwner(String state, Long ownerId, String cursor, int size);
+
+    /**
+     * Passes every booking of the owner's items matching the state to the action, newest first, one row at a time.
+     */
+    void exportBookingsOfOwner(String state, Long ownerId, Consumer<OutputBookingDto> action);
 }
\ No newline at end of file
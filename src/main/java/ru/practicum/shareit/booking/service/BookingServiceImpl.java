@@ -7,36 +7,64 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.InputBookingDto;
 import ru.practicum.shareit.booking.dto.OutputBookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.projection.BookingView;
+import ru.practicum.shareit.booking.projection.ItemBookingProjection;
 import ru.practicum.shareit.booking.repositories.BookingRepository;
+import ru.practicum.shareit.booking.repositories.BookingRepositoryCustom;
 import ru.practicum.shareit.exception.AccessException;
+import ru.practicum.shareit.exception.ArgumentException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.InternalServerError;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.monitoring.TimedTransaction;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserValidator;
+import ru.practicum.shareit.util.Cursor;
+import ru.practicum.shareit.util.CursorPage;
+import ru.practicum.shareit.util.EntityCache;
+import ru.practicum.shareit.util.StripedLocks;
 
 import javax.persistence.criteria.CriteriaBuilder;
-import javax.persistence.criteria.Join;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final int EXPORT_FETCH_SIZE = 500;
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ItemBookingProjection itemBookingProjection;
+    private final UserValidator userValidator;
+    private final EntityCache entityCache;
+    private final StripedLocks itemLocks;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public Booking getBookingById(Long bookingId, Long userId) {
@@ -58,23 +86,15 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional
     public OutputBookingDto create(InputBookingDto bookingDto, Long userId) {
-        getUserById(userId);
+        userValidator.validateExists(userId);
         Long itemId = bookingDto.getItemId();
         Item item = getItemById(itemId);
-        User owner = item.getOwner();
-        if (owner == null) {
-            throw new AccessException(String.format("Item with id = %d not have owner.", itemId));
-        }
-        if (owner.getId().equals(userId)) {
-            throw new AccessException(String.format("Booker cannot be owner of item id: %d", userId));
-        }
         LocalDateTime start = bookingDto.getStart();
         LocalDateTime end = bookingDto.getEnd();
-        if (end.isBefore(start) || end.equals(start)) {
-            throw new ValidationException(String.format("Wrong booking time start = %s and end = %s", start, end));
-        }
-        if (!item.getAvailable()) {
-            throw new ValidationException(String.format("Item with id: %d is not available!", userId));
+        checkBookable(item, userId, start, end);
+        if (bookingRepository.existsApprovedOverlap(itemId, start, end)) {
+            throw new ConflictException(String.format("Item with id: %d is already booked from %s to %s",
+                    itemId, start, end));
         }
         Booking booking = Booking.builder()
                 .start(start)
@@ -86,22 +106,182 @@ public class BookingServiceImpl implements BookingService {
         return BookingMapper.toOutputBookingDto(bookingRepository.save(booking));
     }
 
+    /**
+     * Validates all items with one query and checks overlaps against their approved bookings in memory; the
+     * inserts go out in JDBC batches on flush.
+     */
     @Override
     @Transactional
+    public List<OutputBookingDto> createAll(List<InputBookingDto> bookingDtos, Long userId) {
+        userValidator.validateExists(userId);
+        Set<Long> itemIds = bookingDtos.stream()
+                .map(InputBookingDto::getItemId)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, List<Booking>> approved = findApprovedByItemId(itemIds);
+        User booker = getUserById(userId);
+        List<Booking> bookings = new ArrayList<>(bookingDtos.size());
+        for (InputBookingDto bookingDto : bookingDtos) {
+            Long itemId = bookingDto.getItemId();
+            Item item = items.get(itemId);
+            if (item == null) {
+                throw new NotFoundException(String.format("Item with id %d not found", itemId));
+            }
+            LocalDateTime start = bookingDto.getStart();
+            LocalDateTime end = bookingDto.getEnd();
+            checkBookable(item, userId, start, end);
+            checkNoOverlap(approved.getOrDefault(itemId, List.of()), itemId, start, end);
+            bookings.add(Booking.builder()
+                    .start(start)
+                    .end(end)
+                    .item(item)
+                    .booker(booker)
+                    .status(BookingStatus.WAITING)
+                    .build());
+        }
+        return BookingMapper.toOutputsBookingDtoList(bookingRepository.saveAll(bookings));
+    }
+
+    private void checkBookable(Item item, Long userId, LocalDateTime start, LocalDateTime end) {
+        User owner = item.getOwner();
+        if (owner == null) {
+            throw new AccessException(String.format("Item with id = %d not have owner.", item.getId()));
+        }
+        if (owner.getId().equals(userId)) {
+            throw new AccessException(String.format("Booker cannot be owner of item id: %d", userId));
+        }
+        if (end.isBefore(start) || end.equals(start)) {
+            throw new ValidationException(String.format("Wrong booking time start = %s and end = %s", start, end));
+        }
+        if (!item.getAvailable()) {
+            throw new ValidationException(String.format("Item with id: %d is not available!", userId));
+        }
+    }
+
+    private Map<Long, List<Booking>> findApprovedByItemId(Collection<Long> itemIds) {
+        return bookingRepository.findAllByItemIdInAndStatus(itemIds, BookingStatus.APPROVED).stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+    }
+
+    private void checkNoOverlap(List<Booking> approved, Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (approved.stream().anyMatch(b -> b.getStart().isBefore(end) && b.getEnd().isAfter(start))) {
+            throw new ConflictException(String.format("Item with id: %d is already booked from %s to %s",
+                    itemId, start, end));
+        }
+    }
+
+    /**
+     * Approvals of one item run one at a time, each in its own transaction committed before the next starts;
+     * approvals of other items proceed in parallel. The optimistic item version still guards against approvals
+     * on other instances.
+     */
+    @Override
+    @TimedTransaction
     public OutputBookingDto approveBooking(Long bookingId, Long userId, Boolean isApprove) {
-        getUserById(userId);
+        userValidator.validateExists(userId);
+        // on the primary even with a replica configured: the booking may have been created a moment ago
+        Long itemId = transactionTemplate.execute(status -> bookingRepository.findItemIdById(bookingId))
+                .orElseThrow(() -> new NotFoundException(String.format("Booking with id: %d not found", bookingId)));
+        return itemLocks.withLock(itemId, () ->
+                transactionTemplate.execute(status -> approve(bookingId, userId, isApprove)));
+    }
+
+    private OutputBookingDto approve(Long bookingId, Long userId, Boolean isApprove) {
         Booking booking = getBookingById(bookingId, userId);
+        checkApprovable(booking, userId);
+        if (isApprove) {
+            reserve(booking);
+        }
+        BookingStatus bookingStatus = isApprove ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        booking.setStatus(bookingStatus);
+        Booking savedBooking = bookingRepository.save(booking);
+        itemBookingProjection.onApproved(savedBooking);
+        return BookingMapper.toOutputBookingDto(savedBooking);
+    }
+
+    /**
+     * Takes the stripes of all affected items, then loads the bookings and the approved bookings of their items
+     * with one query each and resolves overlaps, including those between approvals of the same batch, in memory.
+     * The status updates go out in JDBC batches on flush.
+     */
+    @Override
+    @TimedTransaction
+    public List<OutputBookingDto> approveAll(List<BookingApprovalDto> approvals, Long userId) {
+        userValidator.validateExists(userId);
+        Map<Long, Boolean> decisions = new LinkedHashMap<>();
+        for (BookingApprovalDto approval : approvals) {
+            if (decisions.put(approval.getBookingId(), approval.getApproved()) != null) {
+                throw new ValidationException(String.format("Booking with id: %d is listed twice",
+                        approval.getBookingId()));
+            }
+        }
+        List<Long> itemIds = transactionTemplate.execute(status ->
+                bookingRepository.findItemIdsByIdIn(decisions.keySet()));
+        return itemLocks.withLocks(itemIds, () ->
+                transactionTemplate.execute(status -> approveAll(decisions, userId)));
+    }
+
+    private List<OutputBookingDto> approveAll(Map<Long, Boolean> decisions, Long userId) {
+        Map<Long, Booking> bookings = bookingRepository.findAllWithItemAndBookerByIdIn(decisions.keySet()).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        for (Long bookingId : decisions.keySet()) {
+            Booking booking = bookings.get(bookingId);
+            if (booking == null) {
+                throw new NotFoundException(String.format("Booking with id: %d not found", bookingId));
+            }
+            checkApprovable(booking, userId);
+        }
+        Map<Long, List<Booking>> approved = findApprovedByItemId(bookings.values().stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet()));
+        Map<Long, Item> reserved = new HashMap<>();
+        List<Booking> result = new ArrayList<>(decisions.size());
+        decisions.forEach((bookingId, isApprove) -> {
+            Booking booking = bookings.get(bookingId);
+            if (isApprove) {
+                Item item = booking.getItem();
+                List<Booking> itemApproved = approved.computeIfAbsent(item.getId(), id -> new ArrayList<>());
+                checkNoOverlap(itemApproved, item.getId(), booking.getStart(), booking.getEnd());
+                itemApproved.add(booking);
+                reserved.put(item.getId(), item);
+            }
+            booking.setStatus(isApprove ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+            result.add(booking);
+        });
+        reserved.values().forEach(item -> {
+            bookingRepository.lockItem(item);
+            entityCache.evict(Item.class, item.getId());
+        });
+        result.forEach(itemBookingProjection::onApproved);
+        return BookingMapper.toOutputsBookingDtoList(result);
+    }
+
+    private void checkApprovable(Booking booking, Long userId) {
         if (booking.getStatus().equals(BookingStatus.APPROVED)) {
             throw new ValidationException(String.format("Booking with id: %d already have status %s",
-                    bookingId, BookingStatus.APPROVED));
+                    booking.getId(), BookingStatus.APPROVED));
         }
         if (!userId.equals(getItemOwnerId(booking))) {
             throw new AccessException(String.format("Access to User id:%s for booking id:%s is denied",
                     userId, booking.getId()));
         }
-        BookingStatus bookingStatus = isApprove ? BookingStatus.APPROVED : BookingStatus.REJECTED;
-        booking.setStatus(bookingStatus);
-        return BookingMapper.toOutputBookingDto(bookingRepository.save(booking));
+    }
+
+    /**
+     * Rejects an approval overlapping an approved booking of the same item. The overlap check alone races with a
+     * concurrent approval, so the item's version is bumped as well: the later of two such transactions fails on
+     * commit with an optimistic locking conflict.
+     */
+    private void reserve(Booking booking) {
+        Item item = booking.getItem();
+        if (bookingRepository.existsApprovedOverlap(item.getId(), booking.getStart(), booking.getEnd(),
+                booking.getId())) {
+            throw new ConflictException(String.format("Item with id: %d is already booked from %s to %s",
+                    item.getId(), booking.getStart(), booking.getEnd()));
+        }
+        bookingRepository.lockItem(item);
+        entityCache.evict(Item.class, item.getId());
     }
 
     private Long getItemOwnerId(Booking booking) {
@@ -121,10 +301,11 @@ public class BookingServiceImpl implements BookingService {
         return itemOwner.getId();
     }
 
+    @Transactional(readOnly = true)
     @Override
     public OutputBookingDto getBookingDtoById(Long bookingId, Long userId) {
         Booking booking = getBookingById(bookingId, userId);
-        getUserById(userId);
+        userValidator.validateExists(userId);
         Long itemOwnerId = getItemOwnerId(booking);
         Long bookerId = booking.getBooker().getId();
         if (!((bookerId.equals(userId)) || (itemOwnerId.equals(userId)))) {
@@ -134,42 +315,121 @@ public class BookingServiceImpl implements BookingService {
         return BookingMapper.toOutputBookingDto(booking);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
-    @SuppressWarnings("unchecked")
     public Page<OutputBookingDto> getBookingsOfBooker(String stateText, Long bookerId, int from, int size) {
-        getUserById(bookerId);
+        userValidator.validateExists(bookerId);
         State state = State.getState(stateText);
         Pageable pageable = PageRequest.of(size == 0 ? 0 : from / size, size, BookingRepository.SORT_BY_START_BY_DESC);
         Specification<Booking> spec = (root, query, cb) -> {
-            Join<Object, Object> bookerJoin = (Join<Object, Object>) root.fetch("booker");
             List<Predicate> predicates = new ArrayList<>();
-            predicates.add(cb.equal(bookerJoin.get("id"), bookerId));
+            predicates.add(cb.equal(root.get("booker").get("id"), bookerId));
             predicates.addAll(getPredicates(root, cb, state));
             return cb.and(predicates.toArray(new Predicate[0]));
         };
 
-        return bookingRepository.findAll(spec, pageable).map(BookingMapper::toOutputBookingDto);
+        return bookingRepository.findViews(spec, pageable).map(BookingMapper::toOutputBookingDto);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
-    @SuppressWarnings("unchecked")
     public Page<OutputBookingDto> getBookingsOfOwner(String stateText, Long ownerId, int from, int size) {
-        getUserById(ownerId);
+        userValidator.validateExists(ownerId);
 
         State state = State.getState(stateText);
         Pageable pageable = PageRequest.of(size == 0 ? 0 : from / size, size, BookingRepository.SORT_BY_START_BY_DESC);
+        return findOwnerBookings(ownerId, state, pageable).map(BookingMapper::toOutputBookingDto);
+    }
+
+    private Page<BookingView> findOwnerBookings(Long ownerId, State state, Pageable pageable) {
+        LocalDateTime now = LocalDateTime.now();
+        switch (state) {
+            case WAITING:
+                return bookingRepository.findOwnerBookingsByStatus(ownerId, BookingStatus.WAITING, pageable);
+            case REJECTED:
+                return bookingRepository.findOwnerBookingsByStatus(ownerId, BookingStatus.REJECTED, pageable);
+            case PAST:
+                return bookingRepository.findPastOwnerBookings(ownerId, now, pageable);
+            case FUTURE:
+                return bookingRepository.findFutureOwnerBookings(ownerId, now, pageable);
+            case CURRENT:
+                return bookingRepository.findCurrentOwnerBookings(ownerId, now, pageable);
+            default:
+                return bookingRepository.findOwnerBookings(ownerId, pageable);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPage<OutputBookingDto> getBookingsOfBooker(String stateText, Long bookerId, String cursor, int size) {
+        userValidator.validateExists(bookerId);
+        State state = State.getState(stateText);
+        Cursor after = Cursor.decode(cursor);
         Specification<Booking> spec = (root, query, cb) -> {
-            Join<Object, Object> itemJoin = (Join<Object, Object>) root.fetch("item");
-            Join<Object, Object> ownerJoin = (Join<Object, Object>) itemJoin.fetch("owner");
             List<Predicate> predicates = new ArrayList<>();
-            predicates.add(cb.equal(ownerJoin.get("id"), ownerJoin));
+            predicates.add(cb.equal(root.get("booker").get("id"), bookerId));
             predicates.addAll(getPredicates(root, cb, state));
+            predicates.addAll(getSeekPredicates(root, cb, after));
             return cb.and(predicates.toArray(new Predicate[0]));
         };
+        return toCursorPage(bookingRepository.findViews(spec, BookingRepository.SORT_BY_START_AND_ID_DESC, size + 1),
+                size);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPage<OutputBookingDto> getBookingsOfOwner(String stateText, Long ownerId, String cursor, int size) {
+        userValidator.validateExists(ownerId);
+        State state = State.getState(stateText);
+        Cursor after = Cursor.decode(cursor);
+        Specification<Booking> spec = (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(BookingRepositoryCustom.join(root, "item").get("owner").get("id"), ownerId));
+            predicates.addAll(getPredicates(root, cb, state));
+            predicates.addAll(getSeekPredicates(root, cb, after));
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+        return toCursorPage(bookingRepository.findViews(spec, BookingRepository.SORT_BY_START_AND_ID_DESC, size + 1),
+                size);
+    }
+
+    /**
+     * Reads the rows over a cursor in the read-only transaction and hands each to the action before the next is
+     * fetched, so memory does not depend on the number of bookings. The connection is held until the action has
+     * seen the last row.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public void exportBookingsOfOwner(String stateText, Long ownerId, Consumer<OutputBookingDto> action) {
+        userValidator.validateExists(ownerId);
+        State state = State.getState(stateText);
+        Specification<Booking> spec = (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(BookingRepositoryCustom.join(root, "item").get("owner").get("id"), ownerId));
+            predicates.addAll(getPredicates(root, cb, state));
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+        try (Stream<BookingView> bookings = bookingRepository.streamViews(spec,
+                BookingRepository.SORT_BY_START_AND_ID_DESC, EXPORT_FETCH_SIZE)) {
+            bookings.map(BookingMapper::toOutputBookingDto).forEach(action);
+        }
+    }
+
+    private CursorPage<OutputBookingDto> toCursorPage(List<BookingView> bookings, int size) {
+        return CursorPage.of(bookings, size, BookingMapper::toOutputBookingDtoListFromViews,
+                booking -> Cursor.encode(booking.getStart(), booking.getId()));
+    }
 
-        return bookingRepository.findAll(spec, pageable).map(BookingMapper::toOutputBookingDto);
+    private List<Predicate> getSeekPredicates(Root<Booking> root, CriteriaBuilder cb, Cursor after) {
+        if (after == null) {
+            return List.of();
+        }
+        if (after.getTime() == null) {
+            throw new ArgumentException("Booking cursor must contain start time");
+        }
+        return List.of(cb.or(
+                cb.lessThan(root.get("start"), after.getTime()),
+                cb.and(cb.equal(root.get("start"), after.getTime()), cb.lessThan(root.get("id"), after.getId()))));
     }
 
     private List<Predicate> getPredicates(Root<Booking> root, CriteriaBuilder cb, State state) {
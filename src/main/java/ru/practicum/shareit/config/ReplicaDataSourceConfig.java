@@ -0,0 +1,57 @@
+package ru.practicum.shareit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Opt-in ({@code shareit.datasource.replica.jdbc-url}) read replica. {@code readOnly} transactions, read-only
+ * service methods and Spring Data's read methods outside a transaction, run on a separate pool configured under
+ * {@code shareit.datasource.replica.*} (Hikari property names); everything else, Flyway included, stays on the
+ * {@code spring.datasource.*} primary.
+ * <p>
+ * Replica reads may lag behind the primary: a read-only call right after a write can miss it.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "shareit.datasource.replica.jdbc-url")
+public class ReplicaDataSourceConfig {
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReadOnlyRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("shareit.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(ReadOnlyRoutingDataSource.REPLICA);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        ReadOnlyRoutingDataSource routing = new ReadOnlyRoutingDataSource();
+        routing.setTargetDataSources(Map.of(ReadOnlyRoutingDataSource.PRIMARY, primary,
+                ReadOnlyRoutingDataSource.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        log.info("Routing read-only transactions to the replica");
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
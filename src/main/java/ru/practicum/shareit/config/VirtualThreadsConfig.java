@@ -0,0 +1,45 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in ({@code shareit.web.virtual-threads=true}) execution of every servlet request, and with it the
+ * {@code @Transactional} service calls it makes, on a virtual thread per request instead of Tomcat's bounded
+ * platform pool. Concurrency is then bounded by the JDBC pool ({@code spring.datasource.hikari.maximum-pool-size}):
+ * requests beyond it park cheaply while waiting for a connection.
+ * <p>
+ * The code targets Java 11, so the executor is looked up reflectively and startup fails on a runtime without
+ * virtual threads (Java 21+).
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "shareit.web.virtual-threads", havingValue = "true")
+public class VirtualThreadsConfig {
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadRequestExecutor() {
+        return newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        ExecutorService executor = virtualThreadRequestExecutor();
+        log.info("Serving requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("shareit.web.virtual-threads needs Java 21 or newer, running on "
+                    + Runtime.version(), e);
+        }
+    }
+}
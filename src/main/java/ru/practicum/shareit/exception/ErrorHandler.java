@@ -1,6 +1,10 @@
 package ru.practicum.shareit.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -10,11 +14,18 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @Slf4j
 @RestControllerAdvice("ru.practicum.shareit")
 public class ErrorHandler {
+    private final MeterRegistry meterRegistry;
+
+    public ErrorHandler(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleValidationException(final ValidationException e) {
         String strError = String.format("Validation Error: %s", e.getMessage());
         log.info(strError);
+        count(e, HttpStatus.BAD_REQUEST);
         return new ErrorResponse(strError);
     }
 
@@ -27,6 +38,7 @@ public class ErrorHandler {
         String strMessage = index == 0 ? "" : strError.substring(index + strSubString.length());
         strError = String.format("Method argument not valid: %s", strMessage.isBlank() ? strError : strMessage);
         log.info(strError);
+        count(e, HttpStatus.BAD_REQUEST);
         return new ErrorResponse(strError);
     }
 
@@ -35,6 +47,25 @@ public class ErrorHandler {
     public ErrorResponse handleNotFoundException(final NotFoundException e) {
         String strError = String.format("Required object wasn't found: %s", e.getMessage());
         log.info(strError);
+        count(e, HttpStatus.NOT_FOUND);
+        return new ErrorResponse(strError);
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleConflictException(final ConflictException e) {
+        String strError = String.format("Conflict: %s", e.getMessage());
+        log.info(strError);
+        count(e, HttpStatus.CONFLICT);
+        return new ErrorResponse(strError);
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleConcurrencyFailureException(final ConcurrencyFailureException e) {
+        String strError = "Conflict: the object was changed concurrently, retry the request";
+        log.info("{}: {}", strError, e.getMessage());
+        count(e, HttpStatus.CONFLICT);
         return new ErrorResponse(strError);
     }
 
@@ -42,6 +73,12 @@ public class ErrorHandler {
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleThrowable(final Throwable e) {
         log.error(e.getMessage(), e);
+        count(e, HttpStatus.INTERNAL_SERVER_ERROR);
         return new ErrorResponse(e.getMessage());
     }
+
+    private void count(Throwable e, HttpStatus status) {
+        meterRegistry.counter("shareit.errors", "exception", e.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())).increment();
+    }
 }
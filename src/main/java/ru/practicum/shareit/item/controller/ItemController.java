@@ -1,9 +1,11 @@
 package ru.practicum.shareit.item.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sun.istack.NotNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,11 +19,21 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.importing.ItemRowReader;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.util.CursorPage;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import static ru.practicum.shareit.constant.HeaderConstant.USER_ID_IN_HEADER;
@@ -32,8 +44,11 @@ import static ru.practicum.shareit.constant.HeaderConstant.USER_ID_IN_HEADER;
 @RequiredArgsConstructor
 @Validated
 public class ItemController {
+    private static final String TEXT_CSV = "text/csv";
 
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ItemDto create(@RequestHeader(USER_ID_IN_HEADER) long ownerId,
@@ -42,6 +57,26 @@ public class ItemController {
         return itemService.add(ownerId, itemDto);
     }
 
+    /**
+     * Items of the owner from a CSV body with a header row, read as it arrives. Invalid rows are reported by line
+     * and do not stop the import.
+     */
+    @PostMapping(path = "/import", consumes = TEXT_CSV)
+    public ItemImportResultDto importCsv(@RequestHeader(USER_ID_IN_HEADER) long ownerId,
+                                         HttpServletRequest request) throws IOException {
+        return itemImportService.importItems(ownerId, ItemRowReader.csv(reader(request)));
+    }
+
+    /**
+     * Items of the owner from newline-delimited JSON, one {@link ItemDto} per line, read as it arrives.
+     */
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ItemImportResultDto importNdjson(@RequestHeader(USER_ID_IN_HEADER) long ownerId,
+                                            HttpServletRequest request) throws IOException {
+        return itemImportService.importItems(ownerId,
+                ItemRowReader.ndjson(reader(request), objectMapper.readerFor(ItemDto.class)));
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto update(@RequestHeader(USER_ID_IN_HEADER) long ownerId, @PathVariable long itemId,
                           @RequestBody @NotNull Map<String, String> updates) {
@@ -69,6 +104,21 @@ public class ItemController {
         return itemService.searchItems(text, from, size);
     }
 
+    @GetMapping(params = "cursor")
+    public CursorPage<ItemDto> getAllUserItems(@RequestHeader(USER_ID_IN_HEADER) long ownerId,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "10") @Positive int size) {
+        return itemService.getAllUserItems(ownerId, cursor, size);
+    }
+
+    @GetMapping(path = "/search", params = "cursor")
+    public CursorPage<ItemDto> searchItems(@RequestHeader(USER_ID_IN_HEADER) long userId,
+                                           @RequestParam(name = "text") String text,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(defaultValue = "10") @Positive int size) {
+        return itemService.searchItems(text, cursor, size);
+    }
+
     @DeleteMapping("/{itemId}")
     public void delete(@RequestHeader(USER_ID_IN_HEADER) long ownerId, @PathVariable long itemId) {
         itemService.delete(ownerId, itemId);
@@ -79,4 +129,10 @@ public class ItemController {
                                  @Valid @RequestBody CommentDto commentDto) {
         return itemService.addComment(userId, itemId, commentDto);
     }
-}
\ No newline at end of file
+
+    private static BufferedReader reader(HttpServletRequest request) throws IOException {
+        String encoding = request.getCharacterEncoding();
+        Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+        return new BufferedReader(new InputStreamReader(request.getInputStream(), charset));
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of an item import: rows saved, rows rejected and the reasons for the first rejected rows.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemImportResultDto {
+    private long imported;
+    private long rejected;
+    private List<ItemImportErrorDto> errors = new ArrayList<>();
+    /**
+     * Why reading stopped before the end of the body, or {@code null} if the whole body was read. Rows after that
+     * point were neither saved nor counted, so a retry should send only them.
+     */
+    private String aborted;
+}
@@ -0,0 +1,151 @@
+package ru.practicum.shareit.item.importing;
+
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+class CsvItemRowReader implements ItemRowReader {
+    private static final List<String> COLUMNS = List.of("name", "description", "available", "requestid");
+
+    private final BufferedReader reader;
+    private List<String> header;
+    private long line = 1;
+    private boolean unterminated;
+
+    CsvItemRowReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public ItemRow next() throws IOException {
+        if (header == null) {
+            readHeader();
+        }
+        while (true) {
+            long start = line;
+            List<String> fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+            if (fields.size() == 1 && fields.get(0).isBlank() && !unterminated) {
+                continue;
+            }
+            return toRow(start, fields);
+        }
+    }
+
+    private void readHeader() throws IOException {
+        List<String> fields = readRecord();
+        if (fields == null) {
+            throw new ValidationException("CSV header row is missing");
+        }
+        header = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            String column = field.trim().toLowerCase(Locale.ROOT);
+            if (!COLUMNS.contains(column) || header.contains(column)) {
+                throw new ValidationException(String.format("Unknown or repeated CSV column: %s", field));
+            }
+            header.add(column);
+        }
+    }
+
+    private ItemRow toRow(long start, List<String> fields) {
+        if (unterminated) {
+            return ItemRow.error(start, "Quoted field is not closed");
+        }
+        if (fields.size() != header.size()) {
+            return ItemRow.error(start, String.format("Expected %d fields, found %d", header.size(), fields.size()));
+        }
+        ItemDto.ItemDtoBuilder item = ItemDto.builder();
+        for (int i = 0; i < fields.size(); i++) {
+            String value = fields.get(i);
+            switch (header.get(i)) {
+                case "name":
+                    item.name(value);
+                    break;
+                case "description":
+                    item.description(value);
+                    break;
+                case "available":
+                    if (!value.isBlank()) {
+                        String available = value.trim();
+                        if (!available.equalsIgnoreCase("true") && !available.equalsIgnoreCase("false")) {
+                            return ItemRow.error(start, String.format("Available must be true or false: %s", value));
+                        }
+                        item.available(Boolean.valueOf(available));
+                    }
+                    break;
+                default:
+                    if (!value.isBlank()) {
+                        try {
+                            item.requestId(Long.valueOf(value.trim()));
+                        } catch (NumberFormatException e) {
+                            return ItemRow.error(start, String.format("Request id is not a number: %s", value));
+                        }
+                    }
+            }
+        }
+        return ItemRow.of(start, item.build());
+    }
+
+    /**
+     * Fields of the next record, or {@code null} at the end of the body. Line breaks inside quotes belong to the
+     * field; {@link #unterminated} is set when the body ends inside quotes.
+     */
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean read = false;
+        int length = 0;
+        int c;
+        while ((c = reader.read()) != -1) {
+            read = true;
+            if (++length > MAX_RECORD_LENGTH) {
+                throw new ValidationException(String.format("Record at line %d is longer than %d characters", line,
+                        MAX_RECORD_LENGTH));
+            }
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (!read) {
+            return null;
+        }
+        unterminated = quoted;
+        fields.add(field.toString());
+        return fields;
+    }
+}
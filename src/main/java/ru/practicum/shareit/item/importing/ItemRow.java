@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.importing;
+
+import lombok.Value;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+/**
+ * One parsed record of an import body: the item, or the reason it could not be read.
+ */
+@Value
+public class ItemRow {
+    long line;
+    ItemDto item;
+    String error;
+
+    public static ItemRow of(long line, ItemDto item) {
+        return new ItemRow(line, item, null);
+    }
+
+    public static ItemRow error(long line, String error) {
+        return new ItemRow(line, null, error);
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.item.importing;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Reads an import body one record at a time, so only the current record is held in memory. A record that cannot
+ * be parsed comes back as an error row and reading continues with the next one; a body that cannot be read at
+ * all (unknown CSV column, oversized record) fails with {@link ru.practicum.shareit.exception.ValidationException}.
+ */
+public interface ItemRowReader {
+    /**
+     * Longest record accepted, in characters; guards against a missing quote or line break swallowing the body.
+     */
+    int MAX_RECORD_LENGTH = 10_000;
+
+    /**
+     * The next record, or {@code null} at the end of the body.
+     */
+    ItemRow next() throws IOException;
+
+    /**
+     * Comma-separated values with a header row naming the columns: {@code name}, {@code description},
+     * {@code available} and optionally {@code requestId}. Fields may be quoted, with {@code ""} for a quote.
+     */
+    static ItemRowReader csv(BufferedReader reader) {
+        return new CsvItemRowReader(reader);
+    }
+
+    /**
+     * One JSON item per line, as accepted by {@code POST /items}; {@code itemReader} reads {@code ItemDto}.
+     */
+    static ItemRowReader ndjson(BufferedReader reader, ObjectReader itemReader) {
+        return new NdjsonItemRowReader(reader, itemReader);
+    }
+}
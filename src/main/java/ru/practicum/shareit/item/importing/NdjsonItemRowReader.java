@@ -0,0 +1,53 @@
+package ru.practicum.shareit.item.importing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+class NdjsonItemRowReader implements ItemRowReader {
+    private final BufferedReader reader;
+    private final ObjectReader itemReader;
+    private final StringBuilder buffer = new StringBuilder();
+    private long line;
+
+    NdjsonItemRowReader(BufferedReader reader, ObjectReader itemReader) {
+        this.reader = reader;
+        this.itemReader = itemReader;
+    }
+
+    @Override
+    public ItemRow next() throws IOException {
+        String text;
+        while ((text = readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            try {
+                return ItemRow.of(line, itemReader.readValue(text));
+            } catch (JsonProcessingException e) {
+                return ItemRow.error(line, e.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+
+    private String readLine() throws IOException {
+        buffer.setLength(0);
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (buffer.length() == MAX_RECORD_LENGTH) {
+                throw new ValidationException(String.format("Line %d is longer than %d characters", line + 1,
+                        MAX_RECORD_LENGTH));
+            }
+            buffer.append((char) c);
+        }
+        if (c == -1 && buffer.length() == 0) {
+            return null;
+        }
+        return buffer.toString();
+    }
+}
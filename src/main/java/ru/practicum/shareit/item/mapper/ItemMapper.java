@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.mapper;
 
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.ItemView;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -17,6 +18,16 @@ public class ItemMapper {
                 .build();
     }
 
+    public static ItemDto toItemDto(ItemView item) {
+        return ItemDto.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .requestId(item.getRequestId())
+                .build();
+    }
+
     public static Item toItem(ItemDto item) {
 
         return Item.builder()
@@ -33,4 +44,10 @@ public class ItemMapper {
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
+
+    public static List<ItemDto> toItemDtoListFromViews(List<ItemView> items) {
+        return items.stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
+    }
 }
\ No newline at end of file
@@ -6,14 +6,16 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.proxy.HibernateProxy;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.PooledLoSequenceGenerator;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
@@ -31,7 +33,9 @@ import java.util.Objects;
 @Table(name = "comments")
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "comments_seq")
+    @GenericGenerator(name = "comments_seq", strategy = PooledLoSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "comments_seq"))
     private Long id;
 
     @Column(name = "text", nullable = false)
@@ -1,9 +1,14 @@
 package ru.practicum.shareit.item.model;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.proxy.HibernateProxy;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.PooledLoSequenceGenerator;
 
 import javax.persistence.*;
 import java.util.Objects;
@@ -11,6 +16,8 @@ import java.util.Objects;
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "items")
 @Table(name = "items")
 @Data
 @Builder
@@ -18,7 +25,9 @@ import java.util.Objects;
 @NoArgsConstructor
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "items_seq")
+    @GenericGenerator(name = "items_seq", strategy = PooledLoSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "items_seq"))
     private Long id;
     @Column(nullable = false)
     private String name;
@@ -34,6 +43,8 @@ public class Item {
     @ToString.Exclude
     @JoinColumn(name = "request_id")
     private ItemRequest request;
+    @Version
+    private long version;
 
     @Override
     public final boolean equals(Object o) {
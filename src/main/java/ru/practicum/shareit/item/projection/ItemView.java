@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.projection;
+
+import lombok.Value;
+
+/**
+ * Columns of an item that {@code ItemDto} needs, selected with a JPQL constructor expression.
+ */
+@Value
+public class ItemView {
+    Long id;
+    String name;
+    String description;
+    Boolean available;
+    Long requestId;
+}
@@ -2,12 +2,15 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Comment;
 
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @Query(value = "select c from Comment c join fetch c.author where c.item.id = ?1")
     List<Comment> findAllByItemId(long itemId, Sort sort);
 
+    @Query(value = "select c from Comment c join fetch c.author where c.item.id in ?1")
     List<Comment> findAllByItemIdIn(List<Long> items, Sort sort);
 }
@@ -5,19 +5,51 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.ItemView;
 
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    Page<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
-
     @Query(value = "select i from Item i " +
             "where( lower(i.name) like lower(concat('%',?1,'%')) "
             + " or lower(i.description) like lower(concat('%',?1,'%')))"
             + " and i.available=true")
     Page<Item> searchAvailableItems(String text, Pageable pageable);
 
+    /**
+     * Available items matching the lower-case {@code text}, most relevant first: a match in the name scores 4 and a
+     * match in the description 1, plus 2 and 1 when the text is a whole whitespace-separated word there. Ties are
+     * ordered by id, so pages are stable. The score is not indexed: each call sorts every match, then skips the offset.
+     */
+    @Query(value = "select * from items i " +
+            "where (lower(i.name) like concat('%', ?1, '%') or lower(i.description) like concat('%', ?1, '%'))"
+            + " and i.is_available = true"
+            + " order by (case when lower(i.name) like concat('%', ?1, '%') then 4 else 0 end"
+            + " + case when concat(' ', lower(i.name), ' ') like concat('% ', ?1, ' %') then 2 else 0 end"
+            + " + case when lower(i.description) like concat('%', ?1, '%') then 1 else 0 end"
+            + " + case when concat(' ', lower(i.description), ' ') like concat('% ', ?1, ' %') then 1 else 0 end)"
+            + " desc, i.id"
+            + " limit ?2 offset ?3", nativeQuery = true)
+    List<Item> findRankedAvailableItems(String text, int limit, long offset);
+
+    @Query(value = "select i from Item i " +
+            "where( lower(i.name) like lower(concat('%',?1,'%')) "
+            + " or lower(i.description) like lower(concat('%',?1,'%')))"
+            + " and i.available=true and i.id > ?2 order by i.id")
+    List<Item> findAvailableItemsAfter(String text, Long id, Pageable pageable);
+
+    @Query(value = "select new ru.practicum.shareit.item.projection.ItemView(i.id, i.name, i.description, " +
+            " i.available, r.id) from Item i left join i.request r where i.owner.id = ?1",
+            countQuery = "select count(i) from Item i where i.owner.id = ?1")
+    Page<ItemView> findViewsByOwnerId(Long ownerId, Pageable pageable);
+
+    @Query(value = "select new ru.practicum.shareit.item.projection.ItemView(i.id, i.name, i.description, " +
+            " i.available, r.id) from Item i left join i.request r where i.owner.id = ?1 and i.id > ?2 order by i.id")
+    List<ItemView> findViewsByOwnerIdAfter(Long ownerId, Long id, Pageable pageable);
+
     List<Item> findAllByRequestIdIn(List<Long> requestIds);
 
     List<Item> findAllByRequestId(Long requestId);
+
+    List<Item> findTop1000ByIdGreaterThanOrderByIdAsc(Long id);
 }
\ No newline at end of file
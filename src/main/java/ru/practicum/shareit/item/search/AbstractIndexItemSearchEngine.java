@@ -0,0 +1,188 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process index over name/description of available items. Subclasses keep the actual
+ * index structure, this class keeps it in sync with the database and applies the paging contract.
+ */
+@Slf4j
+public abstract class AbstractIndexItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    protected AbstractIndexItemSearchEngine(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    protected abstract void addDocument(long itemId, String name, String description);
+
+    protected abstract void removeDocument(long itemId);
+
+    protected abstract void clearDocuments();
+
+    /**
+     * Returns ids of matching items in ascending order. Called under the read lock.
+     */
+    protected abstract SortedSet<Long> match(String text);
+
+    /**
+     * Whether {@link #match} can answer {@code text} from the index; other queries run the SQL search instead.
+     */
+    protected boolean canMatch(String text) {
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long count = 0;
+        lock.writeLock().lock();
+        try {
+            clearDocuments();
+            List<Item> batch = itemRepository.findTop1000ByIdGreaterThanOrderByIdAsc(0L);
+            while (!batch.isEmpty()) {
+                for (Item item : batch) {
+                    apply(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
+                }
+                count += batch.size();
+                batch = itemRepository.findTop1000ByIdGreaterThanOrderByIdAsc(batch.get(batch.size() - 1).getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Item search index {} rebuilt with {} items", getClass().getSimpleName(), count);
+    }
+
+    @Override
+    public Page<Item> search(String text, Pageable pageable) {
+        String query = text == null ? "" : text;
+        if (!canMatch(query)) {
+            return itemRepository.searchAvailableItems(query, pageable);
+        }
+        List<Long> ids;
+        long total;
+        lock.readLock().lock();
+        try {
+            SortedSet<Long> matched = match(query);
+            total = matched.size();
+            ids = matched.stream()
+                    .skip(pageable.getOffset())
+                    .limit(pageable.getPageSize())
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new PageImpl<>(findAllInOrder(ids), pageable, total);
+    }
+
+    @Override
+    public List<Item> searchAfter(String text, long afterId, int limit) {
+        String query = text == null ? "" : text;
+        if (!canMatch(query)) {
+            return itemRepository.findAvailableItemsAfter(query, afterId, PageRequest.of(0, limit));
+        }
+        List<Long> ids;
+        lock.readLock().lock();
+        try {
+            ids = match(query).tailSet(afterId + 1)
+                    .stream()
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+        return findAllInOrder(ids);
+    }
+
+    @Override
+    public void index(Item item) {
+        Long itemId = item.getId();
+        String name = item.getName();
+        String description = item.getDescription();
+        Boolean available = item.getAvailable();
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                apply(itemId, name, description, available);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void remove(Long itemId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeDocument(itemId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void clear() {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                clearDocuments();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private List<Item> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Item> itemsById = itemRepository.findAllById(ids)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ids.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private void apply(long itemId, String name, String description, Boolean available) {
+        removeDocument(itemId);
+        if (Boolean.TRUE.equals(available)) {
+            addDocument(itemId, name == null ? "" : name, description == null ? "" : description);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
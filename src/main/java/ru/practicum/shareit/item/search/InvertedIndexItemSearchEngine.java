@@ -0,0 +1,93 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Word-level index: an item matches when every word of the query is a word of its name or description.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "inverted")
+public class InvertedIndexItemSearchEngine extends AbstractIndexItemSearchEngine {
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private final Map<String, NavigableSet<Long>> postings = new HashMap<>();
+    private final Map<Long, Set<String>> documents = new HashMap<>();
+
+    public InvertedIndexItemSearchEngine(ItemRepository itemRepository) {
+        super(itemRepository);
+    }
+
+    static Set<String> tokenize(String text) {
+        return Arrays.stream(SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    protected void addDocument(long itemId, String name, String description) {
+        Set<String> tokens = new HashSet<>(tokenize(name));
+        tokens.addAll(tokenize(description));
+        documents.put(itemId, tokens);
+        tokens.forEach(token -> postings.computeIfAbsent(token, t -> new TreeSet<>()).add(itemId));
+    }
+
+    @Override
+    protected void removeDocument(long itemId) {
+        Set<String> tokens = documents.remove(itemId);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            NavigableSet<Long> ids = postings.get(token);
+            ids.remove(itemId);
+            if (ids.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    @Override
+    protected void clearDocuments() {
+        postings.clear();
+        documents.clear();
+    }
+
+    @Override
+    protected SortedSet<Long> match(String text) {
+        Set<String> tokens = tokenize(text);
+        if (tokens.isEmpty()) {
+            return Collections.emptySortedSet();
+        }
+        List<NavigableSet<Long>> lists = new ArrayList<>();
+        for (String token : tokens) {
+            NavigableSet<Long> ids = postings.get(token);
+            if (ids == null) {
+                return Collections.emptySortedSet();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        TreeSet<Long> result = new TreeSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+}
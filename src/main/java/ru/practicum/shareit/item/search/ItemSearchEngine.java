@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemSearchEngine {
+    Page<Item> search(String text, Pageable pageable);
+
+    /**
+     * Keyset variant: at most {@code limit} matches with id greater than {@code afterId}, ordered by id.
+     */
+    List<Item> searchAfter(String text, long afterId, int limit);
+
+    void index(Item item);
+
+    void remove(Long itemId);
+
+    /**
+     * Forgets every item, after all items were deleted.
+     */
+    void clear();
+}
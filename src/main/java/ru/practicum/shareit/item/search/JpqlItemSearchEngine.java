@@ -0,0 +1,41 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "jpql", matchIfMissing = true)
+public class JpqlItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public Page<Item> search(String text, Pageable pageable) {
+        return itemRepository.searchAvailableItems(text, pageable);
+    }
+
+    @Override
+    public List<Item> searchAfter(String text, long afterId, int limit) {
+        return itemRepository.findAvailableItemsAfter(text, afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public void index(Item item) {
+    }
+
+    @Override
+    public void remove(Long itemId) {
+    }
+
+    @Override
+    public void clear() {
+    }
+}
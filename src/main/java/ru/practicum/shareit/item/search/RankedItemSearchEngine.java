@@ -0,0 +1,61 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Relevance-ordered search without the count query: the database ranks the matches (see
+ * {@link ItemRepository#findRankedAvailableItems}) and returns one row past the page, which tells whether another
+ * page follows. The total of a page is therefore exact only on the last page; on earlier pages it is
+ * {@code offset + size + 1}, so {@code last} and {@code totalPages} never claim that the page is the last one
+ * while more matches exist, but do not tell how many more.
+ * <p>
+ * This is offset paging, not a bounded top-k: the score is computed per row, so every page sorts the whole match
+ * set and skips {@code offset} rows, and deep pages cost as much as the match set is large. Relevance-ordered
+ * keyset paging would need a score/id cursor, which {@link #searchAfter} does not take.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "ranked")
+public class RankedItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public Page<Item> search(String text, Pageable pageable) {
+        String query = text == null ? "" : text.toLowerCase(Locale.ROOT);
+        List<Item> items = itemRepository.findRankedAvailableItems(query, pageable.getPageSize() + 1,
+                pageable.getOffset());
+        List<Item> content = items.size() > pageable.getPageSize() ? items.subList(0, pageable.getPageSize()) : items;
+        return new PageImpl<>(content, pageable, pageable.getOffset() + items.size());
+    }
+
+    /**
+     * Relevance has no stable seek key, so keyset pages of this engine are ordered by id.
+     */
+    @Override
+    public List<Item> searchAfter(String text, long afterId, int limit) {
+        return itemRepository.findAvailableItemsAfter(text, afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public void index(Item item) {
+    }
+
+    @Override
+    public void remove(Long itemId) {
+    }
+
+    @Override
+    public void clear() {
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Substring index with the same semantics as {@code ItemRepository.searchAvailableItems}: candidates are
+ * intersected by the trigrams of the query and then verified with {@link String#contains}. Queries shorter than
+ * a trigram have no postings to intersect and run the SQL search.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "trigram")
+public class TrigramItemSearchEngine extends AbstractIndexItemSearchEngine {
+    private static final int GRAM = 3;
+    private final Map<String, NavigableSet<Long>> postings = new HashMap<>();
+    private final Map<Long, String[]> documents = new HashMap<>();
+
+    public TrigramItemSearchEngine(ItemRepository itemRepository) {
+        super(itemRepository);
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    @Override
+    protected void addDocument(long itemId, String name, String description) {
+        String[] fields = {name.toLowerCase(Locale.ROOT), description.toLowerCase(Locale.ROOT)};
+        documents.put(itemId, fields);
+        for (String field : fields) {
+            trigrams(field).forEach(gram -> postings.computeIfAbsent(gram, g -> new TreeSet<>()).add(itemId));
+        }
+    }
+
+    @Override
+    protected void removeDocument(long itemId) {
+        String[] fields = documents.remove(itemId);
+        if (fields == null) {
+            return;
+        }
+        for (String field : fields) {
+            for (String gram : trigrams(field)) {
+                NavigableSet<Long> ids = postings.get(gram);
+                if (ids != null && ids.remove(itemId) && ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void clearDocuments() {
+        postings.clear();
+        documents.clear();
+    }
+
+    @Override
+    protected boolean canMatch(String text) {
+        return text.toLowerCase(Locale.ROOT).length() >= GRAM;
+    }
+
+    @Override
+    protected SortedSet<Long> match(String text) {
+        String query = text.toLowerCase(Locale.ROOT);
+        List<NavigableSet<Long>> lists = new ArrayList<>();
+        for (String gram : trigrams(query)) {
+            NavigableSet<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Collections.emptySortedSet();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        TreeSet<Long> candidates = new TreeSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+            candidates.retainAll(lists.get(i));
+        }
+        return verify(candidates, query);
+    }
+
+    private SortedSet<Long> verify(Set<Long> candidates, String query) {
+        TreeSet<Long> result = new TreeSet<>();
+        for (Long id : candidates) {
+            String[] fields = documents.get(id);
+            if (fields[0].contains(query) || fields[1].contains(query)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+}
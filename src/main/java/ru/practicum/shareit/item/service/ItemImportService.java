@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.importing.ItemRowReader;
+
+import java.io.IOException;
+
+public interface ItemImportService {
+    /**
+     * Saves the valid rows as items of the owner and reports the others by line. Rows are saved in chunks, each in
+     * its own transaction, so rows of chunks saved before a failure stay saved. If the body becomes unreadable
+     * after a chunk was saved, the rows read so far are saved and the result is returned with an abort reason.
+     */
+    ItemImportResultDto importItems(long ownerId, ItemRowReader rows) throws IOException;
+}
@@ -0,0 +1,172 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.importing.ItemRow;
+import ru.practicum.shareit.item.importing.ItemRowReader;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.monitoring.TimedTransaction;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserValidator;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads {@value #CHUNK_SIZE} rows at a time: validates them against the {@link ItemDto} constraints, resolves
+ * their request ids with one query and saves the chunk in JDBC batches. Memory is bounded by the chunk, not by
+ * the body. A body that stops being readable after a chunk was saved ends the import with the rows read so far
+ * and the reason in {@link ItemImportResultDto#getAborted()}; before that, nothing is saved and the
+ * {@link ValidationException} propagates.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemImportServiceImpl implements ItemImportService {
+    public static final int CHUNK_SIZE = 500;
+    /**
+     * Rejected rows beyond this are counted but not listed.
+     */
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final UserRepository userRepository;
+    private final UserValidator userValidator;
+    private final ItemSearchEngine itemSearchEngine;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @TimedTransaction
+    public ItemImportResultDto importItems(long ownerId, ItemRowReader rows) throws IOException {
+        userValidator.validateExists(ownerId);
+        ItemImportResultDto result = new ItemImportResultDto();
+        List<ItemRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        boolean chunkImported = false;
+        try {
+            ItemRow row;
+            while ((row = rows.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(ownerId, chunk, result);
+                    chunk.clear();
+                    chunkImported = true;
+                }
+            }
+        } catch (ValidationException e) {
+            if (!chunkImported) {
+                throw e;
+            }
+            log.warn("Import of owner {} aborted after {} rows: {}", ownerId,
+                    result.getImported() + result.getRejected() + chunk.size(), e.getMessage());
+            result.setAborted(e.getMessage());
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(ownerId, chunk, result);
+        }
+        log.info("Imported {} items of owner {}, rejected {} rows", result.getImported(), ownerId,
+                result.getRejected());
+        return result;
+    }
+
+    private void importChunk(long ownerId, List<ItemRow> chunk, ItemImportResultDto result) {
+        List<ItemImportErrorDto> errors = new ArrayList<>();
+        List<ItemRow> valid = new ArrayList<>(chunk.size());
+        for (ItemRow row : chunk) {
+            String error = row.getError() != null ? row.getError() : validate(row.getItem());
+            if (error == null) {
+                valid.add(row);
+            } else {
+                errors.add(new ItemImportErrorDto(row.getLine(), error));
+            }
+        }
+        if (!valid.isEmpty()) {
+            try {
+                List<Item> saved = transactionTemplate.execute(status -> save(ownerId, valid, errors));
+                saved.forEach(itemSearchEngine::index);
+                result.setImported(result.getImported() + saved.size());
+            } catch (DataAccessException e) {
+                String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                log.warn("Import chunk of owner {} from line {} not saved: {}", ownerId, valid.get(0).getLine(),
+                        cause);
+                Set<Long> reported = errors.stream().map(ItemImportErrorDto::getLine).collect(Collectors.toSet());
+                valid.stream()
+                        .filter(row -> !reported.contains(row.getLine()))
+                        .forEach(row -> errors.add(new ItemImportErrorDto(row.getLine(),
+                                String.format("Not saved: %s", cause))));
+            }
+        }
+        errors.sort(Comparator.comparingLong(ItemImportErrorDto::getLine));
+        errors.forEach(error -> reject(result, error));
+    }
+
+    private List<Item> save(long ownerId, List<ItemRow> rows, List<ItemImportErrorDto> errors) {
+        Set<Long> requestIds = rows.stream()
+                .map(row -> row.getItem().getRequestId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requests = requestIds.isEmpty() ? Map.of()
+                : itemRequestRepository.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        User owner = userRepository.getReferenceById(ownerId);
+        List<Item> items = new ArrayList<>(rows.size());
+        for (ItemRow row : rows) {
+            ItemDto itemDto = row.getItem();
+            Long requestId = itemDto.getRequestId();
+            if (requestId != null && !requests.containsKey(requestId)) {
+                errors.add(new ItemImportErrorDto(row.getLine(),
+                        String.format("Request with id:%s is not found ", requestId)));
+                continue;
+            }
+            items.add(Item.builder()
+                    .name(itemDto.getName())
+                    .description(itemDto.getDescription())
+                    .available(itemDto.getAvailable())
+                    .owner(owner)
+                    .request(requestId == null ? null : requests.get(requestId))
+                    .build());
+        }
+        return itemRepository.saveAll(items);
+    }
+
+    private String validate(ItemDto itemDto) {
+        Set<ConstraintViolation<ItemDto>> violations = validator.validate(itemDto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.joining("; "));
+    }
+
+    private void reject(ItemImportResultDto result, ItemImportErrorDto error) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(error);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.springframework.data.domain.Page;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.util.CursorPage;
 
 
 import java.util.Map;
@@ -23,6 +24,10 @@ public interface ItemService {
 
     Page<ItemDto> searchItems(String query, int from, int size);
 
+    CursorPage<ItemDto> getAllUserItems(Long userId, String cursor, int size);
+
+    CursorPage<ItemDto> searchItems(String query, String cursor, int size);
+
     void delete(Long ownerId, Long itemId);
 
     void deleteAll();
@@ -4,12 +4,16 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.booking.mapper.BookingMapper;
-import ru.practicum.shareit.booking.model.Booking;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.ShortBookingDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.projection.BookingSlot;
+import ru.practicum.shareit.booking.projection.ItemBookingProjection;
+import ru.practicum.shareit.booking.projection.ItemBookings;
 import ru.practicum.shareit.booking.repositories.BookingRepository;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -19,18 +23,24 @@ import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.ItemView;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserValidator;
+import ru.practicum.shareit.util.Cursor;
+import ru.practicum.shareit.util.CursorPage;
+import ru.practicum.shareit.util.EntityCache;
 import ru.practicum.shareit.util.PageUtil;
+import ru.practicum.shareit.util.ReadTransactions;
 
-import javax.transaction.Transactional;
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -43,6 +53,11 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemBookingProjection itemBookingProjection;
+    private final EntityCache entityCache;
+    private final UserValidator userValidator;
+    private final ReadTransactions readTransactions;
 
     private User getUserById(Long userId) {
         return userRepository.findById(userId)
@@ -61,13 +76,15 @@ public class ItemServiceImpl implements ItemService {
                     .orElseThrow(() -> new NotFoundException(
                             String.format("Request with id:%s is not found ", requestId))));
         }
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        itemSearchEngine.index(savedItem);
+        return ItemMapper.toItemDto(savedItem);
     }
 
     @Transactional
     @Override
     public ItemDto update(Long ownerId, Long itemId, Map<String, String> updates) {
-        getUserById(ownerId);
+        userValidator.validateExists(ownerId);
         Item item = getItemById(itemId);
         checkOwnerOfItem(ownerId, item);
         if (updates.containsKey("name")) {
@@ -84,7 +101,10 @@ public class ItemServiceImpl implements ItemService {
         if (updates.containsKey("available")) {
             item.setAvailable(Boolean.valueOf(updates.get("available")));
         }
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        itemSearchEngine.index(savedItem);
+        entityCache.evict(Item.class, itemId);
+        return ItemMapper.toItemDto(savedItem);
     }
 
     private void checkOwnerOfItem(Long ownerId, Item item) {
@@ -102,7 +122,7 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public Item getItemById(Long itemId) {
         return itemRepository.findById(itemId)
@@ -114,87 +134,125 @@ public class ItemServiceImpl implements ItemService {
         return null;
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public ItemDto getItemDtoById(Long itemId, Long userId) {
         Item item = getItemById(itemId);
         List<Comment> comments = commentRepository.findAllByItemId(item.getId(), sort);
         ItemDto itemDto = ItemMapper.toItemDto(item);
         if (item.getOwner() != null && item.getOwner().getId().equals(userId)) {
-            setBookings(itemDto,
-                    bookingRepository.findAllByItemIdAndStatus(itemId, BookingStatus.APPROVED));
+            setBookings(itemDto, itemBookingProjection.get(List.of(itemId)).getOrDefault(itemId, ItemBookings.EMPTY));
         }
-        setComments(itemDto, comments);
+        itemDto.setComments(CommentMapper.toDtoList(comments));
         return itemDto;
     }
 
-    @Transactional
     @Override
     public Page<ItemDto> getAllUserItems(Long userId, int from, int size) {
-        getUserById(userId);
-        Pageable pageRequest = PageUtil.getPageRequest(from, size);
-        Page<Item> items = itemRepository.findAllByOwnerId(userId, pageRequest);
-        List<Booking> bookings = bookingRepository.findAllByOwnerIdAndStatus(userId, BookingStatus.APPROVED);
-        List<Comment> comments = commentRepository.findAllByItemIdIn(items.getContent().stream()
-                .map(Item::getId)
-                .collect(Collectors.toList()), sort);
-        List<ItemDto> itemsDto = ItemMapper.toItemDtoList(items.getContent());
+        userValidator.validateExists(userId);
+        Pageable pageRequest = PageUtil.getPageRequest(from, size, Sort.by(Sort.Direction.ASC, "id"));
+        return readTransactions.scope(() -> {
+            Page<ItemView> items = readTransactions.read(() -> itemRepository.findViewsByOwnerId(userId, pageRequest));
+            return new PageImpl<>(toOwnerItemDtoList(items.getContent()), pageRequest, items.getTotalElements());
+        });
+    }
+
+    @Override
+    public CursorPage<ItemDto> getAllUserItems(Long userId, String cursor, int size) {
+        userValidator.validateExists(userId);
+        Cursor after = Cursor.decode(cursor);
+        return readTransactions.scope(() -> {
+            List<ItemView> items = readTransactions.read(() -> itemRepository.findViewsByOwnerIdAfter(userId,
+                    after == null ? 0L : after.getId(), PageRequest.of(0, size + 1)));
+            return CursorPage.of(items, size, this::toOwnerItemDtoList, item -> Cursor.encode(null, item.getId()));
+        });
+    }
+
+    /**
+     * Bookings and comments of the page are independent reads; with parallel reads enabled they run concurrently.
+     */
+    private List<ItemDto> toOwnerItemDtoList(List<ItemView> items) {
+        List<Long> itemIds = items.stream()
+                .map(ItemView::getId)
+                .collect(Collectors.toList());
+        CompletableFuture<Map<Long, ItemBookings>> bookings = readTransactions.fork(() ->
+                itemBookingProjection.get(itemIds));
+        CompletableFuture<Map<Long, List<CommentDto>>> comments = readTransactions.fork(() ->
+                groupCommentsByItemId(commentRepository.findAllByItemIdIn(itemIds, sort)));
+        List<ItemDto> itemsDto = ItemMapper.toItemDtoListFromViews(items);
+        Map<Long, ItemBookings> bookingsByItem = ReadTransactions.join(bookings);
+        Map<Long, List<CommentDto>> commentsByItem = ReadTransactions.join(comments);
         itemsDto.forEach(i -> {
-            setBookings(i, bookings);
-            setComments(i, comments);
+            setBookings(i, bookingsByItem.getOrDefault(i.getId(), ItemBookings.EMPTY));
+            i.setComments(commentsByItem.getOrDefault(i.getId(), List.of()));
         });
-        return new PageImpl<>(itemsDto, pageRequest, items.getTotalElements());
-    }
-
-    private void setBookings(ItemDto itemDto, List<Booking> bookings) {
-        LocalDateTime now = LocalDateTime.now();
-        Long itemId = itemDto.getId();
-        itemDto.setLastBooking(bookings.stream()
-                .filter(booking -> booking.getItem().getId().equals(itemId))
-                .filter(booking -> booking.getStart().isBefore(now))
-                .sorted(Comparator.comparing(Booking::getStart).reversed())
-                .limit(1)
-                .map(BookingMapper::toShortBookingDto)
-                .findFirst().orElse(null));
-        itemDto.setNextBooking(bookings.stream()
-                .filter(booking -> booking.getItem().getId().equals(itemId))
-                .filter(booking -> booking.getStart().isAfter(now))
-                .sorted(Comparator.comparing(Booking::getStart))
-                .limit(1)
-                .map(BookingMapper::toShortBookingDto)
-                .findFirst().orElse(null));
-    }
-
-    private void setComments(ItemDto itemDto, List<Comment> comments) {
-        Long itemId = itemDto.getId();
-        itemDto.setComments(comments.stream()
-                .filter(comment -> comment.getItem().getId().equals(itemId))
-                .map(CommentMapper::toDto)
-                .collect(Collectors.toList()));
+        return itemsDto;
+    }
+
+    private void setBookings(ItemDto itemDto, ItemBookings bookings) {
+        itemDto.setLastBooking(toShortBookingDto(bookings.getLast(), itemDto));
+        itemDto.setNextBooking(toShortBookingDto(bookings.getNext(), itemDto));
+    }
+
+    private ShortBookingDto toShortBookingDto(BookingSlot slot, ItemDto itemDto) {
+        return slot == null ? null : ShortBookingDto.builder()
+                .id(slot.getId())
+                .start(slot.getStart())
+                .end(slot.getEnd())
+                .item(ItemDto.builder()
+                        .id(itemDto.getId())
+                        .name(itemDto.getName())
+                        .description(itemDto.getDescription())
+                        .available(itemDto.getAvailable())
+                        .requestId(itemDto.getRequestId())
+                        .build())
+                .bookerId(slot.getBookerId())
+                .build();
+    }
+
+    private Map<Long, List<CommentDto>> groupCommentsByItemId(List<Comment> comments) {
+        return comments.stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toDto, Collectors.toList())));
     }
 
     @Transactional
     @Override
     public void delete(Long ownerId, Long itemId) {
-        getUserById(ownerId);
+        userValidator.validateExists(ownerId);
         Item item = getItemById(itemId);
         checkOwnerOfItem(ownerId, item);
         itemRepository.delete(item);
+        itemSearchEngine.remove(itemId);
+        itemBookingProjection.evict(itemId);
+        entityCache.evict(Item.class, itemId);
     }
 
     @Transactional
     @Override
     public void deleteAll() {
         itemRepository.deleteAll();
+        itemSearchEngine.clear();
+        itemBookingProjection.evictAll();
+        entityCache.evictAll(Item.class);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public Page<ItemDto> searchItems(String query, int from, int size) {
         Pageable pageRequest = PageUtil.getPageRequest(from, size);
-        Page<Item> items = itemRepository.searchAvailableItems(query, pageRequest);
+        Page<Item> items = itemSearchEngine.search(query, pageRequest);
         return new PageImpl<>(ItemMapper.toItemDtoList(items.getContent()), pageRequest, items.getTotalElements());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPage<ItemDto> searchItems(String query, String cursor, int size) {
+        Cursor after = Cursor.decode(cursor);
+        List<Item> items = itemSearchEngine.searchAfter(query, after == null ? 0L : after.getId(), size + 1);
+        return CursorPage.of(items, size, ItemMapper::toItemDtoList, item -> Cursor.encode(null, item.getId()));
+    }
+
     @Transactional
     @Override
     public CommentDto addComment(Long userId, Long itemId, CommentDto commentDto) {
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC work of the current request thread. Filled by {@link QueryStatsCollector} between {@link #start()} and
+ * {@link #stop()}; outside of that window Hibernate events are not recorded. Reads the request hands to other
+ * threads count towards it when those threads {@link #attach} it, so recording is synchronized.
+ */
+@Getter
+public class QueryStats {
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+    private int entities;
+    private final Map<String, Integer> shapes = new LinkedHashMap<>();
+
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Makes {@code stats}, captured on another thread, the stats of this one and returns the stats it replaced;
+     * attach those back when done. {@code null} detaches.
+     */
+    public static QueryStats attach(QueryStats stats) {
+        QueryStats previous = CURRENT.get();
+        if (stats == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats);
+        }
+        return previous;
+    }
+
+    synchronized void statementPrepared() {
+        statements++;
+    }
+
+    synchronized void queryExecuted(String query, int rows) {
+        this.rows += rows;
+        shapes.merge(query, 1, Integer::sum);
+    }
+
+    synchronized void entityLoaded() {
+        entities++;
+    }
+
+    synchronized void entityFetched(String entityName) {
+        rows++;
+        shapes.merge("load " + entityName, 1, Integer::sum);
+    }
+
+    synchronized void collectionFetched(String role) {
+        shapes.merge("load " + role, 1, Integer::sum);
+    }
+
+    /**
+     * Executed query shapes, most frequent first, e.g. {@code 20 x load ru.practicum.shareit.item.model.Item}.
+     */
+    public synchronized String describeShapes() {
+        return shapes.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .map(shape -> shape.getValue() + " x " + shape.getKey().replaceAll("\\s+", " "))
+                .collect(Collectors.joining("\n"));
+    }
+}
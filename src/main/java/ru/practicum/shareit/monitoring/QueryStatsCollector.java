@@ -0,0 +1,59 @@
+package ru.practicum.shareit.monitoring;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+/**
+ * Session factory statistics that also feed the {@link QueryStats} of the calling thread. Hibernate reports
+ * these events only while {@code hibernate.generate_statistics} is on.
+ */
+public class QueryStatsCollector extends StatisticsImpl {
+    public QueryStatsCollector(SessionFactoryImplementor sessionFactory) {
+        super(sessionFactory);
+    }
+
+    @Override
+    public void prepareStatement() {
+        super.prepareStatement();
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.statementPrepared();
+        }
+    }
+
+    @Override
+    public void queryExecuted(String hql, int rows, long time) {
+        super.queryExecuted(hql, rows, time);
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.queryExecuted(hql, rows);
+        }
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.entityLoaded();
+        }
+    }
+
+    @Override
+    public void fetchEntity(String entityName) {
+        super.fetchEntity(entityName);
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.entityFetched(entityName);
+        }
+    }
+
+    @Override
+    public void fetchCollection(String role) {
+        super.fetchCollection(role);
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.collectionFetched(role);
+        }
+    }
+}
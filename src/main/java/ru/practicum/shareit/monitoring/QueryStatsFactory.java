@@ -0,0 +1,15 @@
+package ru.practicum.shareit.monitoring;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * Plugged in with {@code hibernate.stats.factory}.
+ */
+public class QueryStatsFactory implements StatisticsFactory {
+    @Override
+    public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+        return new QueryStatsCollector(sessionFactory);
+    }
+}
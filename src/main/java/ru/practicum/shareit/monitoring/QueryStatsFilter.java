@@ -0,0 +1,93 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Counts JDBC statements, fetched rows and hydrated entities of every request. Counts go to the
+ * {@code shareit.request.statements|rows|entities} summaries tagged by endpoint; a request over the statement
+ * threshold is logged with its query shapes. With {@code shareit.query-stats.headers} on, the counts are also
+ * returned as response headers, which buffers the response body; responses of the streaming paths listed in
+ * {@code shareit.query-stats.unbuffered-paths} are never buffered and go without the headers.
+ */
+@Slf4j
+@Component
+public class QueryStatsFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS_HEADER = "X-Query-Statements";
+    public static final String ROWS_HEADER = "X-Query-Rows";
+    public static final String ENTITIES_HEADER = "X-Query-Entities";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean headers;
+    private final int warnThreshold;
+    private final Set<String> unbufferedPaths;
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public QueryStatsFilter(ObjectProvider<MeterRegistry> meterRegistry,
+                            @Value("${shareit.query-stats.headers:false}") boolean headers,
+                            @Value("${shareit.query-stats.warn-threshold:20}") int warnThreshold,
+                            @Value("${shareit.query-stats.unbuffered-paths:}") Set<String> unbufferedPaths) {
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.headers = headers;
+        this.warnThreshold = warnThreshold;
+        this.unbufferedPaths = unbufferedPaths;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper buffered = headers
+                && !unbufferedPaths.contains(urlPathHelper.getPathWithinApplication(request))
+                ? new ContentCachingResponseWrapper(response) : null;
+        QueryStats stats = QueryStats.start();
+        try {
+            chain.doFilter(request, buffered == null ? response : buffered);
+        } finally {
+            QueryStats.stop();
+            record(request, stats);
+            if (buffered != null) {
+                buffered.setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+                buffered.setHeader(ROWS_HEADER, String.valueOf(stats.getRows()));
+                buffered.setHeader(ENTITIES_HEADER, String.valueOf(stats.getEntities()));
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        summary("shareit.request.statements", "statements", request.getMethod(), uri).record(stats.getStatements());
+        summary("shareit.request.rows", "rows", request.getMethod(), uri).record(stats.getRows());
+        summary("shareit.request.entities", "entities", request.getMethod(), uri).record(stats.getEntities());
+        if (stats.getStatements() > warnThreshold) {
+            log.warn("{} {} issued {} statements ({} rows, {} entities):\n{}", request.getMethod(),
+                    request.getRequestURI(), stats.getStatements(), stats.getRows(), stats.getEntities(),
+                    stats.describeShapes());
+        }
+    }
+
+    private DistributionSummary summary(String name, String unit, String method, String uri) {
+        return DistributionSummary.builder(name)
+                .baseUnit(unit)
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.monitoring;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method that opens its transactions itself through a
+ * {@link org.springframework.transaction.support.TransactionTemplate}, so that {@link TransactionMetricsAspect}
+ * times it like a {@code @Transactional} one.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TimedTransaction {
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times {@code @Transactional} service calls that open a transaction, commit or rollback included, as
+ * {@code shareit.transaction} tagged by method and exception. Calls joining an outer transaction are not timed.
+ * Methods that run their transactions through a {@code TransactionTemplate} are timed when marked
+ * {@link TimedTransaction}, lock waits included.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TransactionMetricsAspect {
+    private final MeterRegistry meterRegistry;
+
+    public TransactionMetricsAspect(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    @Around("within(ru.practicum.shareit..*) && ("
+            + "@annotation(org.springframework.transaction.annotation.Transactional)"
+            + " || @within(org.springframework.transaction.annotation.Transactional)"
+            + " || @annotation(javax.transaction.Transactional)"
+            + " || @within(javax.transaction.Transactional)"
+            + " || @annotation(ru.practicum.shareit.monitoring.TimedTransaction))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        String exception = "none";
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Timer.builder("shareit.transaction")
+                    .tag("method", joinPoint.getTarget().getClass().getSimpleName() + "."
+                            + joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
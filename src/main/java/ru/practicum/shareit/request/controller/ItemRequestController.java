@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.util.CursorPage;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
@@ -49,6 +50,13 @@ public class ItemRequestController {
         return itemRequestService.getOtherUserRequests(userId, from, size);
     }
 
+    @GetMapping(path = "/all", params = "cursor")
+    public CursorPage<ItemRequestDto> getOtherUsersRequests(@RequestHeader(USER_ID_IN_HEADER) Long userId,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "10") @Positive int size) {
+        return itemRequestService.getOtherUserRequests(userId, cursor, size);
+    }
+
     @GetMapping("/{requestId}")
     public ItemRequestDto getRequestById(@RequestHeader(USER_ID_IN_HEADER) Long userId,
                                          @PathVariable Long requestId) {
@@ -4,8 +4,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.PooledLoSequenceGenerator;
 
 import javax.persistence.*;
 import java.awt.*;
@@ -20,7 +23,9 @@ import java.util.List;
 @Table(name = "requests")
 public class ItemRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "requests_seq")
+    @GenericGenerator(name = "requests_seq", strategy = PooledLoSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "requests_seq"))
     private Long id;
     @Column(name = "description", nullable = false)
     private String description;
@@ -3,12 +3,20 @@ package ru.practicum.shareit.request.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findAllByRequesterIdOrderByCreatedDesc(long id, Pageable pageable);
 
     Page<ItemRequest> findAllByRequesterIdNot(Long userId, Pageable pageable);
+
+    List<ItemRequest> findAllByRequesterIdNotOrderByCreatedDescIdDesc(Long userId, Pageable pageable);
+
+    @Query(value = "select r from ItemRequest r where r.requester.id <> ?1 " +
+            " and (r.created < ?2 or (r.created = ?2 and r.id < ?3)) order by r.created desc, r.id desc")
+    List<ItemRequest> findOtherRequestsBefore(Long userId, LocalDateTime created, Long id, Pageable pageable);
 }
\ No newline at end of file
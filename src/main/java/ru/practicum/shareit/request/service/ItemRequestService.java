@@ -2,6 +2,7 @@ package ru.practicum.shareit.request.service;
 
 import org.springframework.data.domain.Page;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.util.CursorPage;
 
 import java.util.List;
 
@@ -12,5 +13,7 @@ public interface ItemRequestService {
 
     Page<ItemRequestDto> getOtherUserRequests(Long userId, int from, int size);
 
+    CursorPage<ItemRequestDto> getOtherUserRequests(Long userId, String cursor, int size);
+
     ItemRequestDto getItemRequestById(Long userId, Long requestId);
 }
\ No newline at end of file
@@ -3,8 +3,11 @@ package ru.practicum.shareit.request.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.ArgumentException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
@@ -14,8 +17,10 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserValidator;
+import ru.practicum.shareit.util.Cursor;
+import ru.practicum.shareit.util.CursorPage;
 
-import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +34,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final UserValidator userValidator;
 
     @Transactional
     @Override
@@ -43,16 +49,18 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return ItemRequestMapper.toItemRequestDto(itemRequest);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<ItemRequestDto> getUserRequests(Long userId, int from, int size) {
-        existsUserById(userId);
+        userValidator.validateExists(userId);
         return itemRequestsToDto(itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(userId,
                 getPageRequest(from, size)));
     }
 
+    @Transactional(readOnly = true)
     @Override
     public Page<ItemRequestDto> getOtherUserRequests(Long userId, int from, int size) {
-        existsUserById(userId);
+        userValidator.validateExists(userId);
         Pageable pageRequest = getPageRequest(from, size);
         Page<ItemRequest> allByRequesterIdNot = itemRequestRepository
                 .findAllByRequesterIdNot(userId, pageRequest);
@@ -60,9 +68,28 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 allByRequesterIdNot.getTotalElements());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPage<ItemRequestDto> getOtherUserRequests(Long userId, String cursor, int size) {
+        userValidator.validateExists(userId);
+        Cursor after = Cursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<ItemRequest> itemRequests;
+        if (after == null) {
+            itemRequests = itemRequestRepository.findAllByRequesterIdNotOrderByCreatedDescIdDesc(userId, limit);
+        } else if (after.getTime() == null) {
+            throw new ArgumentException("Request cursor must contain creation time");
+        } else {
+            itemRequests = itemRequestRepository.findOtherRequestsBefore(userId, after.getTime(), after.getId(), limit);
+        }
+        return CursorPage.of(itemRequests, size, this::itemRequestsToDto,
+                r -> Cursor.encode(r.getCreated(), r.getId()));
+    }
+
+    @Transactional(readOnly = true)
     @Override
     public ItemRequestDto getItemRequestById(Long userId, Long requestId) {
-        existsUserById(userId);
+        userValidator.validateExists(userId);
         ItemRequest itemRequest = getItemRequestById(requestId);
         return ItemRequestMapper.toItemRequestDto(itemRequest, itemRepository.findAllByRequestId(requestId));
     }
@@ -81,12 +108,6 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .collect(Collectors.toList());
     }
 
-    private void existsUserById(Long userId) {
-        if (!(userRepository.existsUserById(userId))) {
-            throw new NotFoundException(String.format("User with id: %d not found", userId));
-        }
-    }
-
     private ItemRequest getItemRequestById(Long id) {
         return itemRequestRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException(String.format("ItemRequest with id: %d is not found", id)));
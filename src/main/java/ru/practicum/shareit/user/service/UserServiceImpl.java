@@ -3,14 +3,16 @@ package ru.practicum.shareit.user.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.projection.ItemBookingProjection;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.EntityCache;
 
-import javax.transaction.Transactional;
 import java.util.List;
 import java.util.Map;
 
@@ -19,17 +21,24 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final EntityCache entityCache;
+    private final UserValidator userValidator;
+    private final ItemBookingProjection itemBookingProjection;
 
     @Override
     public UserDto add(User user) {
-        return UserMapper.toUserDto(userRepository.save(user));
+        User savedUser = userRepository.save(user);
+        userValidator.onCreated(savedUser.getId());
+        return UserMapper.toUserDto(savedUser);
     }
 
     @Override
     @Transactional
     public UserDto update(Long userId, User user) {
-        getUserById(userId);
-        return UserMapper.toUserDto(userRepository.save(user));
+        userValidator.validateExists(userId);
+        User savedUser = userRepository.save(user);
+        entityCache.evict(User.class, userId);
+        return UserMapper.toUserDto(savedUser);
     }
 
 
@@ -50,22 +59,24 @@ public class UserServiceImpl implements UserService {
             user.setEmail(email.trim());
         }
         userRepository.save(user);
+        entityCache.evict(User.class, id);
         return UserMapper.toUserDto(user);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public User getUserById(long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException(String.format("User with id %d not found", id)));
     }
 
+    @Transactional(readOnly = true)
     @Override
     public UserDto getUserDtoById(long id) {
         return UserMapper.toUserDto(getUserById(id));
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public List<UserDto> getAll() {
         return UserMapper.toUserDtoList(userRepository.findAll());
@@ -75,11 +86,17 @@ public class UserServiceImpl implements UserService {
     @Override
     public void delete(long userId) {
         userRepository.deleteById(userId);
+        entityCache.evict(User.class, userId);
+        userValidator.onDeleted(userId);
+        itemBookingProjection.evictAll();
     }
 
     @Transactional
     @Override
     public void deleteAll() {
         userRepository.deleteAll();
+        entityCache.evictAll(User.class);
+        userValidator.onAllDeleted();
+        itemBookingProjection.evictAll();
     }
 }
\ No newline at end of file
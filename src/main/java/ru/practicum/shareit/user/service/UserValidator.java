@@ -0,0 +1,101 @@
+package ru.practicum.shareit.user.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.ConcurrentIdSet;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checks that the user from the X-Sharer-User-Id header exists. Ids confirmed once are kept in a shared bitmap,
+ * so repeated checks within a request and across requests do not reach the database; unknown ids fall back to
+ * {@code findById}, which the second-level user cache answers and which leaves the user in the persistence context,
+ * so a service loading the same user afterwards in the same transaction makes no second lookup. Deletions bump a
+ * stamp so that a check racing with a delete cannot re-add the removed id.
+ * <p>
+ * The bitmap lives in this JVM and only learns of deletes made through it: another instance, or a replica lagging
+ * behind a delete, would keep accepting the removed id. It is therefore off unless
+ * {@code shareit.users.known-ids.enabled} is set, which is safe only with a single instance; when off every check
+ * goes through {@code findById}.
+ */
+@Component
+public class UserValidator {
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final ConcurrentIdSet knownIds;
+    private final AtomicLong removals = new AtomicLong();
+
+    public UserValidator(UserRepository userRepository,
+                         @Value("${shareit.users.known-ids.enabled:false}") boolean enabled,
+                         @Value("${shareit.users.known-ids.max-id:67108864}") long maxId) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.knownIds = new ConcurrentIdSet(maxId);
+    }
+
+    public void validateExists(Long userId) {
+        if (userId != null && knownIds.contains(userId)) {
+            return;
+        }
+        long stamp = removals.get();
+        if (userId == null || userRepository.findById(userId).isEmpty()) {
+            throw new NotFoundException(String.format("User with id %d not found", userId));
+        }
+        if (!enabled) {
+            return;
+        }
+        synchronized (knownIds) {
+            if (removals.get() == stamp) {
+                knownIds.add(userId);
+            }
+        }
+    }
+
+    public void onCreated(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        afterCompletion(() -> knownIds.add(userId), true);
+    }
+
+    public void onDeleted(Long userId) {
+        Runnable remove = () -> {
+            synchronized (knownIds) {
+                knownIds.remove(userId);
+                removals.incrementAndGet();
+            }
+        };
+        remove.run();
+        afterCompletion(remove, false);
+    }
+
+    public void onAllDeleted() {
+        Runnable clear = () -> {
+            synchronized (knownIds) {
+                knownIds.clear();
+                removals.incrementAndGet();
+            }
+        };
+        clear.run();
+        afterCompletion(clear, false);
+    }
+
+    private void afterCompletion(Runnable action, boolean onlyCommitted) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (!onlyCommitted || status == STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bitmap of non-negative ids up to {@code maxId}: one bit per id, lock-free reads and synchronized writes.
+ * Ids above {@code maxId} are never stored, so callers fall back to their source of truth for them.
+ */
+public class ConcurrentIdSet {
+    private static final int INITIAL_WORDS = 16;
+    private final long maxId;
+    private volatile AtomicLongArray words = new AtomicLongArray(INITIAL_WORDS);
+
+    public ConcurrentIdSet(long maxId) {
+        this.maxId = maxId;
+    }
+
+    public boolean contains(long id) {
+        if (id < 0 || id > maxId) {
+            return false;
+        }
+        AtomicLongArray current = words;
+        int index = (int) (id >>> 6);
+        return index < current.length() && (current.get(index) & (1L << id)) != 0;
+    }
+
+    public synchronized void add(long id) {
+        if (id < 0 || id > maxId) {
+            return;
+        }
+        int index = (int) (id >>> 6);
+        if (index >= words.length()) {
+            grow(index);
+        }
+        long mask = 1L << id;
+        words.getAndUpdate(index, word -> word | mask);
+    }
+
+    public synchronized void remove(long id) {
+        if (!contains(id)) {
+            return;
+        }
+        long mask = ~(1L << id);
+        words.getAndUpdate((int) (id >>> 6), word -> word & mask);
+    }
+
+    public synchronized void clear() {
+        words = new AtomicLongArray(INITIAL_WORDS);
+    }
+
+    private void grow(int index) {
+        int length = words.length();
+        while (length <= index) {
+            length *= 2;
+        }
+        AtomicLongArray grown = new AtomicLongArray(length);
+        for (int i = 0; i < words.length(); i++) {
+            grown.set(i, words.get(i));
+        }
+        words = grown;
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.util;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.exception.ArgumentException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position: the sort value of the last row of a page (may be absent) and its id.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Cursor {
+    private static final String SEPARATOR = "|";
+    private final LocalDateTime time;
+    private final long id;
+
+    public static String encode(LocalDateTime time, long id) {
+        String value = (time == null ? "" : time.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = value.lastIndexOf(SEPARATOR);
+            String time = value.substring(0, index);
+            return new Cursor(time.isEmpty() ? null : LocalDateTime.parse(time),
+                    Long.parseLong(value.substring(index + 1)));
+        } catch (RuntimeException e) {
+            throw new ArgumentException(String.format("Invalid cursor: %s", cursor));
+        }
+    }
+}
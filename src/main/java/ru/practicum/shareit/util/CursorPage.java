@@ -0,0 +1,26 @@
+package ru.practicum.shareit.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor;
+
+    /**
+     * Builds a page from {@code size + 1} fetched rows: the extra row only tells that a next page exists.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<List<E>, List<T>> mapper,
+                                          Function<E, String> cursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(mapper.apply(rows), null);
+        }
+        List<E> content = rows.subList(0, size);
+        return new CursorPage<>(mapper.apply(content), cursorOf.apply(content.get(size - 1)));
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.util;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Explicit eviction from the second-level entity cache. Entries are evicted once the surrounding transaction
+ * completes, so a concurrent load cannot put the pre-update state back.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCache {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evict(Class<?> entityClass, Object id) {
+        afterCompletion(() -> entityManagerFactory.getCache().evict(entityClass, id));
+    }
+
+    public void evictAll(Class<?> entityClass) {
+        afterCompletion(() -> entityManagerFactory.getCache().evict(entityClass));
+    }
+
+    private void afterCompletion(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+}
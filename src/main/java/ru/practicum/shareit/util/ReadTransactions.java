@@ -0,0 +1,97 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.monitoring.QueryStats;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Read-only transactions for composed reads. By default a {@link #scope} is one read-only transaction and
+ * {@link #fork}ed reads run inline inside it. With {@code shareit.reads.parallel=true} a scope holds no
+ * connection, and forked reads run concurrently on a bounded pool, each in its own read-only transaction on its
+ * own connection. A saturated pool runs the read on the caller. Statements of a forked read count towards the
+ * {@link QueryStats} of the caller.
+ * <p>
+ * Results handed out of a forked read must not need the persistence context it ran in.
+ */
+@Component
+public class ReadTransactions implements DisposableBean {
+    private final TransactionTemplate readOnly;
+    private final ThreadPoolExecutor executor;
+
+    public ReadTransactions(PlatformTransactionManager transactionManager,
+                            @Value("${shareit.reads.parallel:false}") boolean parallel,
+                            @Value("${shareit.reads.threads:8}") int threads) {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        executor = parallel ? newExecutor(threads) : null;
+    }
+
+    public <T> T scope(Supplier<T> reads) {
+        return executor == null ? read(reads) : reads.get();
+    }
+
+    /**
+     * Runs in a read-only transaction, joining the current one if any.
+     */
+    public <T> T read(Supplier<T> read) {
+        return readOnly.execute(status -> read.get());
+    }
+
+    public <T> CompletableFuture<T> fork(Supplier<T> read) {
+        if (executor == null) {
+            return CompletableFuture.completedFuture(read.get());
+        }
+        QueryStats stats = QueryStats.current();
+        return CompletableFuture.supplyAsync(() -> {
+            QueryStats previous = QueryStats.attach(stats);
+            try {
+                return read(read);
+            } finally {
+                QueryStats.attach(previous);
+            }
+        }, executor);
+    }
+
+    /**
+     * Result of a forked read, rethrowing its exception unwrapped.
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private static ThreadPoolExecutor newExecutor(int threads) {
+        AtomicInteger number = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(threads * 4),
+                task -> {
+                    Thread thread = new Thread(task, "read-" + number.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
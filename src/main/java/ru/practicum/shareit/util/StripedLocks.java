@@ -0,0 +1,89 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ConflictException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A fixed set of locks shared by hash of the key: actions on one key run one at a time, actions on keys of
+ * different stripes run in parallel, and memory does not grow with the number of keys. Keys sharing a stripe
+ * wait for each other, so the stripe count ({@code shareit.locks.stripes}, rounded up to a power of two) should
+ * comfortably exceed the number of request threads.
+ * <p>
+ * The lock is in-process only; a guard across instances has to come from the database.
+ */
+@Component
+public class StripedLocks {
+    private final ReentrantLock[] locks;
+    private final long timeoutMillis;
+
+    public StripedLocks(@Value("${shareit.locks.stripes:256}") int stripes,
+                        @Value("${shareit.locks.timeout-ms:5000}") long timeoutMillis) {
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Runs the action holding the key's stripe; waits at most the configured timeout for it.
+     *
+     * @throws ConflictException if the stripe stays busy for the whole timeout
+     */
+    public <T> T withLock(Object key, Supplier<T> action) {
+        return withLocks(List.of(key), action);
+    }
+
+    /**
+     * Runs the action holding the stripes of all keys. Stripes are taken in index order, so two callers with
+     * overlapping key sets cannot deadlock.
+     *
+     * @throws ConflictException if a stripe stays busy for the whole timeout
+     */
+    public <T> T withLocks(Collection<?> keys, Supplier<T> action) {
+        int[] stripes = keys.stream()
+                .mapToInt(this::index)
+                .distinct()
+                .sorted()
+                .toArray();
+        int held = 0;
+        try {
+            for (; held < stripes.length; held++) {
+                acquire(locks[stripes[held]], keys.size() == 1 ? keys.iterator().next() : keys);
+            }
+            return action.get();
+        } finally {
+            for (int i = held - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    private void acquire(ReentrantLock lock, Object keys) {
+        try {
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new ConflictException(String.format("Lock for %s is busy, retry the request", keys));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException(String.format("Interrupted waiting for the lock for %s", keys));
+        }
+    }
+
+    ReentrantLock stripe(Object key) {
+        return locks[index(key)];
+    }
+
+    private int index(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (locks.length - 1);
+    }
+}
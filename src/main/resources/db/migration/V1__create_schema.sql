@@ -31,4 +31,8 @@ create table if not EXISTS comments
     text VARCHAR (1000) NOT NULL,
     item_id BIGINT REFERENCES items (id) ON delete CASCADE,
     author_id BIGINT REFERENCES items (id) ON delete CASCADE,
-    created TIMESTAMP WITHOUT TIME ZONE DEFAULT LOCALTIME);
\ No newline at end of file
+    created TIMESTAMP WITHOUT TIME ZONE DEFAULT LOCALTIME);
+
+CREATE INDEX IF NOT EXISTS items_owner_id_idx ON items (owner_id, id);
+
+CREATE INDEX IF NOT EXISTS bookings_item_id_start_idx ON bookings (item_id, start_booking DESC);
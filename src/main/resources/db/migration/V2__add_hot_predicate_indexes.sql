@@ -0,0 +1,9 @@
+CREATE INDEX IF NOT EXISTS bookings_booker_id_start_idx ON bookings (booker_id, start_booking DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_item_id_status_start_idx ON bookings (item_id, status, start_booking);
+
+CREATE INDEX IF NOT EXISTS items_request_id_idx ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS comments_item_id_created_idx ON comments (item_id, created);
+
+CREATE INDEX IF NOT EXISTS requests_request_id_created_idx ON requests (request_id, created DESC);
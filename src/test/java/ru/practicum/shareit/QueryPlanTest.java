@@ -0,0 +1,335 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.projection.BookingView;
+import ru.practicum.shareit.booking.repositories.BookingRepository;
+import ru.practicum.shareit.booking.repositories.BookingRepositoryCustom;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs H2 EXPLAIN on every statement issued by every method declared by the repositories, with the values the
+ * call bound, and fails on sequential scans. Methods that cannot avoid a scan, or issue no statement here, are
+ * listed in {@link #EXEMPT} with the reason; overloads are checked together under one name.
+ */
+@DataJpaTest
+class QueryPlanTest {
+    private static final int USERS = 100;
+    private static final int REQUESTS = 200;
+    private static final int ITEMS = 1000;
+    private static final int BOOKINGS = 5000;
+    private static final int COMMENTS = 1000;
+    private static final Pattern FULL_SCAN = Pattern.compile("/\\* [\\w.\"]+ \\*/");
+    private static final List<Class<?>> REPOSITORIES = List.of(BookingRepository.class,
+            BookingRepositoryCustom.class, ItemRepository.class, CommentRepository.class,
+            ItemRequestRepository.class, UserRepository.class);
+    private static final String INFIX_SEARCH = "infix LIKE on name and description cannot use a B-tree index; "
+            + "shareit.search.engine=inverted|trigram serves it from an in-memory index";
+    private static final String OTHER_REQUESTS = "requests of all other users: reads most of the table by design";
+    private static final String IGNORE_CASE = "case-insensitive match cannot use a plain index; "
+            + "not called by the services";
+    private static final Map<String, String> EXEMPT = Map.of(
+            "BookingRepositoryCustom.lockItem", "issues only a version update by primary key, at commit, "
+                    + "which the rolled-back test transaction never reaches",
+            "ItemRepository.searchAvailableItems", INFIX_SEARCH,
+            "ItemRepository.findRankedAvailableItems", INFIX_SEARCH,
+            "ItemRepository.findAvailableItemsAfter", INFIX_SEARCH,
+            "ItemRequestRepository.findAllByRequesterIdNot", OTHER_REQUESTS,
+            "ItemRequestRepository.findAllByRequesterIdNotOrderByCreatedDescIdDesc", OTHER_REQUESTS,
+            "ItemRequestRepository.findOtherRequestsBefore", OTHER_REQUESTS,
+            "UserRepository.findUsersByEmailEqualsIgnoreCase", IGNORE_CASE,
+            "UserRepository.findUsersByNameEqualsIgnoreCase", IGNORE_CASE);
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    CommentRepository commentRepository;
+    @Autowired
+    ItemRequestRepository itemRequestRepository;
+    @Autowired
+    UserRepository userRepository;
+    LocalDateTime now = LocalDateTime.now();
+
+    /**
+     * Records every prepared statement with the setter calls that bound its parameters, so EXPLAIN sees the
+     * same values.
+     */
+    @TestConfiguration
+    static class StatementCapture implements BeanPostProcessor {
+        private static final Queue<CapturedStatement> STATEMENTS = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource)) {
+                return bean;
+            }
+            return proxy(DataSource.class, bean, (method, args, result) ->
+                    result instanceof Connection ? capture((Connection) result) : result);
+        }
+
+        private static Connection capture(Connection connection) {
+            return proxy(Connection.class, connection, (method, args, result) ->
+                    method.getName().equals("prepareStatement")
+                            ? capture((PreparedStatement) result, (String) args[0]) : result);
+        }
+
+        private static PreparedStatement capture(PreparedStatement statement, String sql) {
+            List<Binding> bindings = new ArrayList<>();
+            return proxy(PreparedStatement.class, statement, (method, args, result) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    bindings.add(new Binding(method, args));
+                } else if (name.equals("clearParameters")) {
+                    bindings.clear();
+                } else if (name.startsWith("execute") || name.equals("addBatch")) {
+                    STATEMENTS.add(new CapturedStatement(sql, List.copyOf(bindings)));
+                }
+                return result;
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, Object target, Interceptor interceptor) {
+            return type.cast(Proxy.newProxyInstance(QueryPlanTest.class.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> {
+                        try {
+                            return interceptor.intercept(method, args, method.invoke(target, args));
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }));
+        }
+
+        private interface Interceptor {
+            Object intercept(Method method, Object[] args, Object result);
+        }
+    }
+
+    private static final class Binding {
+        private final Method setter;
+        private final Object[] args;
+
+        private Binding(Method setter, Object[] args) {
+            this.setter = setter;
+            this.args = args;
+        }
+    }
+
+    private static final class CapturedStatement {
+        private final String sql;
+        private final List<Binding> bindings;
+
+        private CapturedStatement(String sql, List<Binding> bindings) {
+            this.sql = sql;
+            this.bindings = bindings;
+        }
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        Timestamp created = Timestamp.valueOf(now.minusDays(30));
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            rows.add(new Object[]{id, "user" + id, "user" + id + "@mail.ru"});
+        }
+        jdbcTemplate.batchUpdate("insert into users (id, name, email) values (?, ?, ?)", rows);
+        rows.clear();
+        for (long id = 1; id <= REQUESTS; id++) {
+            rows.add(new Object[]{id, "request" + id, id % USERS + 1, created});
+        }
+        jdbcTemplate.batchUpdate("insert into requests (id, description, request_id, created) values (?, ?, ?, ?)",
+                rows);
+        rows.clear();
+        for (long id = 1; id <= ITEMS; id++) {
+            rows.add(new Object[]{id, "item" + id, "description" + id, true, id % USERS + 1,
+                    id % 5 == 0 ? id % REQUESTS + 1 : null});
+        }
+        jdbcTemplate.batchUpdate("insert into items (id, name, description, is_available, owner_id, request_id) " +
+                "values (?, ?, ?, ?, ?, ?)", rows);
+        rows.clear();
+        for (long id = 1; id <= BOOKINGS; id++) {
+            LocalDateTime start = now.plusHours(id - BOOKINGS / 2);
+            rows.add(new Object[]{id, Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(2)),
+                    id % ITEMS + 1, id % USERS + 1, BookingStatus.values()[(int) (id % 4)].name()});
+        }
+        jdbcTemplate.batchUpdate("insert into bookings (id, start_booking, end_booking, item_id, booker_id, status) " +
+                "values (?, ?, ?, ?, ?, ?)", rows);
+        rows.clear();
+        for (long id = 1; id <= COMMENTS; id++) {
+            rows.add(new Object[]{id, "comment" + id, id % ITEMS + 1, id % ITEMS + 1, created});
+        }
+        jdbcTemplate.batchUpdate("insert into comments (id, text, item_id, author_id, created) values (?, ?, ?, ?, ?)",
+                rows);
+    }
+
+    private Map<String, Runnable> checks() {
+        PageRequest page = PageRequest.of(0, 10, BookingRepository.SORT_BY_START_BY_DESC);
+        Specification<Booking> byBooker = (root, query, cb) -> cb.equal(root.get("booker").get("id"), 1L);
+        Sort byCreated = Sort.by(Sort.Direction.ASC, "created");
+        Map<String, Runnable> checks = new LinkedHashMap<>();
+        checks.put("BookingRepositoryCustom.findViews", () -> {
+            bookingRepository.findViews(byBooker, page);
+            bookingRepository.findViews(byBooker, BookingRepository.SORT_BY_START_AND_ID_DESC, 10);
+        });
+        checks.put("BookingRepositoryCustom.streamViews", () -> {
+            try (Stream<BookingView> views = bookingRepository.streamViews(byBooker,
+                    BookingRepository.SORT_BY_START_AND_ID_DESC, 500)) {
+                views.forEach(BookingView::getId);
+            }
+        });
+        checks.put("BookingRepository.findAllByBookerIdAndStartBeforeAndEndAfter",
+                () -> bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfter(1L, now));
+        checks.put("BookingRepository.findAllByOwnerId", () -> bookingRepository.findAllByOwnerId(1L));
+        checks.put("BookingRepository.findOwnerBookings", () -> bookingRepository.findOwnerBookings(1L, page));
+        checks.put("BookingRepository.findCurrentOwnerBookings",
+                () -> bookingRepository.findCurrentOwnerBookings(1L, now, page));
+        checks.put("BookingRepository.findPastOwnerBookings",
+                () -> bookingRepository.findPastOwnerBookings(1L, now, page));
+        checks.put("BookingRepository.findFutureOwnerBookings",
+                () -> bookingRepository.findFutureOwnerBookings(1L, now, page));
+        checks.put("BookingRepository.findOwnerBookingsByStatus",
+                () -> bookingRepository.findOwnerBookingsByStatus(1L, BookingStatus.WAITING, page));
+        checks.put("BookingRepository.findAllByOwnerIdAndStatus",
+                () -> bookingRepository.findAllByOwnerIdAndStatus(1L, BookingStatus.WAITING));
+        checks.put("BookingRepository.findAllByOwnerIdAndStartAfter",
+                () -> bookingRepository.findAllByOwnerIdAndStartAfter(1L, now));
+        checks.put("BookingRepository.findAllByOwnerIdAndEndBefore",
+                () -> bookingRepository.findAllByOwnerIdAndEndBefore(1L, now));
+        checks.put("BookingRepository.findAllByOwnerIdAndStartBeforeAndEndAfter",
+                () -> bookingRepository.findAllByOwnerIdAndStartBeforeAndEndAfter(1L, now));
+        checks.put("BookingRepository.findItemIdById", () -> bookingRepository.findItemIdById(1L));
+        checks.put("BookingRepository.findItemIdsByIdIn",
+                () -> bookingRepository.findItemIdsByIdIn(List.of(1L, 2L)));
+        checks.put("BookingRepository.findAllWithItemAndBookerByIdIn",
+                () -> bookingRepository.findAllWithItemAndBookerByIdIn(List.of(1L, 2L)));
+        checks.put("BookingRepository.findAllByItemIdAndStatus",
+                () -> bookingRepository.findAllByItemIdAndStatus(1L, BookingStatus.APPROVED));
+        checks.put("BookingRepository.findAllByItemIdInAndStatus",
+                () -> bookingRepository.findAllByItemIdInAndStatus(List.of(1L, 2L), BookingStatus.APPROVED));
+        checks.put("BookingRepository.findLastAndNextApproved",
+                () -> bookingRepository.findLastAndNextApproved(List.of(1L, 2L), now));
+        checks.put("BookingRepository.existsOverlap", () -> bookingRepository.existsOverlap(1L,
+                BookingStatus.APPROVED, now, now.plusHours(2), 1L));
+        checks.put("BookingRepository.existsApprovedOverlap", () -> {
+            bookingRepository.existsApprovedOverlap(1L, now, now.plusHours(2), 1L);
+            bookingRepository.existsApprovedOverlap(1L, now, now.plusHours(2));
+        });
+        checks.put("BookingRepository.findFirstByItemIdAndBookerIdAndStatusAndEndBefore",
+                () -> bookingRepository.findFirstByItemIdAndBookerIdAndStatusAndEndBefore(1L, 2L,
+                        BookingStatus.APPROVED, now));
+        checks.put("ItemRepository.findViewsByOwnerId",
+                () -> itemRepository.findViewsByOwnerId(1L, PageRequest.of(0, 5)));
+        checks.put("ItemRepository.findViewsByOwnerIdAfter",
+                () -> itemRepository.findViewsByOwnerIdAfter(1L, 0L, PageRequest.of(0, 5)));
+        checks.put("ItemRepository.findAllByRequestId", () -> itemRepository.findAllByRequestId(1L));
+        checks.put("ItemRepository.findAllByRequestIdIn",
+                () -> itemRepository.findAllByRequestIdIn(List.of(1L, 2L)));
+        checks.put("ItemRepository.findTop1000ByIdGreaterThanOrderByIdAsc",
+                () -> itemRepository.findTop1000ByIdGreaterThanOrderByIdAsc(500L));
+        checks.put("CommentRepository.findAllByItemId", () -> commentRepository.findAllByItemId(1L, byCreated));
+        checks.put("CommentRepository.findAllByItemIdIn",
+                () -> commentRepository.findAllByItemIdIn(List.of(1L, 2L), byCreated));
+        checks.put("ItemRequestRepository.findAllByRequesterIdOrderByCreatedDesc",
+                () -> itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(1L, PageRequest.of(0, 5)));
+        checks.put("UserRepository.existsUserById", () -> userRepository.existsUserById(1L));
+        return checks;
+    }
+
+    @Test
+    void repositoryQueriesUseIndexes() {
+        assertAll(checks().entrySet().stream()
+                .map(check -> (Executable) () -> assertIndexed(check.getKey(), check.getValue())));
+    }
+
+    @Test
+    void everyRepositoryMethodIsCheckedOrExempt() {
+        Set<String> declared = REPOSITORIES.stream()
+                .flatMap(type -> Arrays.stream(type.getDeclaredMethods())
+                        .filter(method -> !method.isSynthetic() && !Modifier.isStatic(method.getModifiers()))
+                        .map(method -> type.getSimpleName() + "." + method.getName()))
+                .collect(Collectors.toCollection(TreeSet::new));
+        Set<String> checked = checks().keySet();
+        Set<String> covered = new TreeSet<>(checked);
+        covered.addAll(EXEMPT.keySet());
+        assertEquals(declared, covered, "Check the plan of new repository methods or exempt them with a reason");
+        assertTrue(Collections.disjoint(checked, EXEMPT.keySet()), "Exempt methods must not be checked");
+        EXEMPT.forEach((method, reason) -> assertFalse(reason.isBlank(), () -> method + " is exempt without reason"));
+    }
+
+    private void assertIndexed(String method, Runnable call) {
+        StatementCapture.STATEMENTS.clear();
+        call.run();
+        List<CapturedStatement> statements = new ArrayList<>(StatementCapture.STATEMENTS);
+        assertFalse(statements.isEmpty(), () -> method + " issued no statement");
+        for (CapturedStatement statement : statements) {
+            String plan = explain(statement);
+            assertFalse(FULL_SCAN.matcher(plan).find(), () -> method + " scans sequentially:\n" + plan);
+        }
+    }
+
+    private String explain(CapturedStatement captured) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + captured.sql)) {
+                for (Binding binding : captured.bindings) {
+                    binding.setter.invoke(statement, binding.args);
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot bind " + captured.sql, e);
+            }
+        });
+    }
+}
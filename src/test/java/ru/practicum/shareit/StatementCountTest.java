@@ -0,0 +1,167 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.InputBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repositories.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserValidator;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Listing endpoints must issue the same number of statements whatever the page size: one select for the page,
+ * one count and a fixed number of batched lookups, with no per-row lazy loading.
+ */
+@SpringBootTest
+@Transactional
+class StatementCountTest {
+    private static final int ITEMS = 25;
+
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    CommentRepository commentRepository;
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    ItemService itemService;
+    @Autowired
+    UserValidator userValidator;
+    Statistics statistics;
+    User owner, secondOwner, booker;
+    List<Item> items = new ArrayList<>();
+
+    @BeforeEach
+    void beforeEach() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        owner = userRepository.save(User.builder().name("owner").email("owner@mail.ru").build());
+        secondOwner = userRepository.save(User.builder().name("owner2").email("owner2@mail.ru").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@mail.ru").build());
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().minusDays(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = itemRepository.save(Item.builder().name("item" + i).description("description" + i)
+                    .available(true).owner(owner).build());
+            items.add(item);
+            itemRepository.save(Item.builder().name("other" + i).description("description" + i)
+                    .available(true).owner(secondOwner).build());
+            bookings.add(Booking.builder().item(item).booker(booker).status(BookingStatus.APPROVED)
+                    .start(start.plusDays(i)).end(start.plusDays(i).plusHours(1)).build());
+            bookings.add(Booking.builder().item(item).booker(booker).status(BookingStatus.APPROVED)
+                    .start(start.plusDays(ITEMS + i)).end(start.plusDays(ITEMS + i).plusHours(1)).build());
+            User author = userRepository.save(User.builder().name("author" + i).email("author" + i + "@mail.ru")
+                    .build());
+            comments.add(Comment.builder().text("comment" + i).item(item).author(author)
+                    .created(start.plusDays(i).plusHours(2)).build());
+        }
+        bookingRepository.saveAll(bookings);
+        commentRepository.saveAll(comments);
+        List.of(owner, secondOwner, booker).forEach(user -> userValidator.validateExists(user.getId()));
+    }
+
+    @Test
+    void bookerPageDoesNotDependOnSize() {
+        assertEquals(statements(() -> bookingService.getBookingsOfBooker("ALL", booker.getId(), 0, 5)),
+                statements(() -> bookingService.getBookingsOfBooker("ALL", booker.getId(), 0, 20)));
+    }
+
+    @Test
+    void ownerPageDoesNotDependOnSize() {
+        assertEquals(statements(() -> bookingService.getBookingsOfOwner("ALL", owner.getId(), 0, 5)),
+                statements(() -> bookingService.getBookingsOfOwner("ALL", owner.getId(), 0, 20)));
+    }
+
+    @Test
+    void cursorPagesDoNotDependOnSize() {
+        assertEquals(statements(() -> bookingService.getBookingsOfBooker("ALL", booker.getId(), null, 5)),
+                statements(() -> bookingService.getBookingsOfBooker("ALL", booker.getId(), null, 20)));
+        assertEquals(statements(() -> bookingService.getBookingsOfOwner("ALL", owner.getId(), null, 5)),
+                statements(() -> bookingService.getBookingsOfOwner("ALL", owner.getId(), null, 20)));
+    }
+
+    @Test
+    void ownerItemsDoNotDependOnSize() {
+        assertEquals(statements(() -> itemService.getAllUserItems(owner.getId(), 0, 5)),
+                statements(() -> itemService.getAllUserItems(owner.getId(), 0, 20)));
+    }
+
+    @Test
+    void bulkCreateIsBatched() {
+        // a larger batch may cross into the next block of pooled ids and fetch the sequence once more
+        long small = statements(() -> createAll(5));
+        long large = statements(() -> createAll(20));
+        assertTrue(large <= small + 1, () -> String.format("%d statements for 5 bookings, %d for 20", small, large));
+    }
+
+    @Test
+    void insertsShareSequenceCallAndBatch() {
+        long statements = statements(() -> {
+            List<User> users = new ArrayList<>();
+            for (int i = 0; i < ITEMS; i++) {
+                users.add(User.builder().name("user" + i).email("user" + i + "@mail.ru").build());
+            }
+            userRepository.saveAll(users);
+            entityManager.flush();
+        });
+        assertTrue(statements <= 2, () -> statements + " statements for " + ITEMS + " inserts");
+    }
+
+    @Test
+    void userCheckLeavesUserForTheService() {
+        assertEquals(1, statements(() -> {
+            userValidator.validateExists(booker.getId());
+            userRepository.findById(booker.getId());
+        }));
+        entityManager.clear();
+        statistics.clear();
+        userValidator.validateExists(booker.getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    private void createAll(int count) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<InputBookingDto> bookings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            bookings.add(new InputBookingDto(items.get(i).getId(), start.plusHours(i), start.plusHours(i + 1)));
+        }
+        bookingService.createAll(bookings, booker.getId());
+        entityManager.flush();
+    }
+
+    private long statements(Runnable call) {
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
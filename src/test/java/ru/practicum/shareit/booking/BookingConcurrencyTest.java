@@ -0,0 +1,211 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.projection.ItemBookingProjection;
+import ru.practicum.shareit.booking.repositories.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.ErrorHandler;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.service.UserValidator;
+import ru.practicum.shareit.util.EntityCache;
+import ru.practicum.shareit.util.StripedLocks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.lang.reflect.Method;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Approvals run in committed transactions here, so both the overlap check and the optimistic item version are
+ * exercised against the database. Within one instance the item stripe serializes approvals before either guard is
+ * reached; the optimistic version is exercised by two instances.
+ */
+@SpringBootTest
+class BookingConcurrencyTest {
+    private static final int THREADS = 4;
+
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    UserService userService;
+    @Autowired
+    ItemBookingProjection itemBookingProjection;
+    @Autowired
+    UserValidator userValidator;
+    @Autowired
+    EntityCache entityCache;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    User owner, booker;
+    Item item;
+    LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(User.builder().name("owner").email("concurrency-owner@mail.ru").build());
+        booker = userRepository.save(User.builder().name("booker").email("concurrency-booker@mail.ru").build());
+        item = itemRepository.save(Item.builder().name("item").description("description").available(true)
+                .owner(owner).build());
+    }
+
+    @AfterEach
+    void afterEach() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userService.deleteAll();
+    }
+
+    private Booking waiting(LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.save(Booking.builder().item(item).booker(booker).status(BookingStatus.WAITING)
+                .start(start).end(end).build());
+    }
+
+    @Test
+    void concurrentApprovalsOfOverlappingBookingsApproveOne() throws Exception {
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookingIds.add(waiting(start.plusMinutes(i), start.plusHours(2)).getId());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        int approved = 0;
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (Long bookingId : bookingIds) {
+                results.add(executor.submit(() -> {
+                    go.await();
+                    try {
+                        bookingService.approveBooking(bookingId, owner.getId(), true);
+                        return true;
+                    } catch (ConflictException | ConcurrencyFailureException e) {
+                        return false;
+                    }
+                }));
+            }
+            go.countDown();
+            for (Future<Boolean> result : results) {
+                approved += result.get(30, TimeUnit.SECONDS) ? 1 : 0;
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, approved);
+        assertEquals(1, bookingRepository.findAllByItemIdAndStatus(item.getId(), BookingStatus.APPROVED).size());
+    }
+
+    /**
+     * Two instances, i.e. two services with their own {@link StripedLocks}, whose approval transactions both pass
+     * the overlap check before either commits: only the item version stops the second one.
+     */
+    @Test
+    void overlappingApprovalsOnTwoInstancesFailOnItemVersion() throws Exception {
+        Booking first = waiting(start, start.plusHours(2));
+        Booking second = waiting(start.plusHours(1), start.plusHours(3));
+        CyclicBarrier beforeCommit = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Object> outcomes = new ArrayList<>();
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (Booking booking : List.of(first, second)) {
+                BookingService instance = instance(beforeCommit);
+                results.add(executor.submit(() -> {
+                    try {
+                        return instance.approveBooking(booking.getId(), owner.getId(), true);
+                    } catch (RuntimeException e) {
+                        return e;
+                    }
+                }));
+            }
+            for (Future<Object> result : results) {
+                outcomes.add(result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        List<Object> failures = new ArrayList<>(outcomes);
+        failures.removeIf(outcome -> !(outcome instanceof RuntimeException));
+        assertEquals(1, failures.size(), () -> "Outcomes: " + outcomes);
+        ConcurrencyFailureException failure = assertInstanceOf(ConcurrencyFailureException.class, failures.get(0));
+        Method handler = new ExceptionHandlerMethodResolver(ErrorHandler.class).resolveMethodByThrowable(failure);
+        assertEquals(HttpStatus.CONFLICT,
+                AnnotatedElementUtils.findMergedAnnotation(handler, ResponseStatus.class).code());
+        assertEquals(1, bookingRepository.findAllByItemIdAndStatus(item.getId(), BookingStatus.APPROVED).size());
+    }
+
+    private BookingService instance(CyclicBarrier beforeCommit) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager) {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                return super.execute(status -> {
+                    T result = action.doInTransaction(status);
+                    try {
+                        beforeCommit.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+                        throw new IllegalStateException("The other instance did not reach its commit", e);
+                    }
+                    return result;
+                });
+            }
+        };
+        return new BookingServiceImpl(bookingRepository, userRepository, itemRepository, itemBookingProjection,
+                userValidator, entityCache, new StripedLocks(1, 5000), transactionTemplate);
+    }
+
+    @Test
+    void approvalsOfDisjointBookingsOfOneItemSucceedInTurn() {
+        Booking first = waiting(start, start.plusHours(1));
+        Booking second = waiting(start.plusHours(1), start.plusHours(2));
+
+        bookingService.approveBooking(first.getId(), owner.getId(), true);
+        bookingService.approveBooking(second.getId(), owner.getId(), true);
+
+        assertEquals(2, bookingRepository.findAllByItemIdAndStatus(item.getId(), BookingStatus.APPROVED).size());
+    }
+
+    @Test
+    void approvalOverlappingApprovedBookingIsRejected() {
+        Booking first = waiting(start, start.plusHours(2));
+        Booking second = waiting(start.plusHours(1), start.plusHours(3));
+        bookingService.approveBooking(first.getId(), owner.getId(), true);
+
+        assertThrows(ConflictException.class, () -> bookingService.approveBooking(second.getId(), owner.getId(), true));
+    }
+}
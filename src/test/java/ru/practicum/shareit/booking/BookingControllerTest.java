@@ -10,6 +10,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.InputBookingDto;
 import ru.practicum.shareit.booking.dto.OutputBookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
@@ -24,11 +25,17 @@ import ru.practicum.shareit.util.PageUtil;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -36,6 +43,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.constant.HeaderConstant.USER_ID_IN_HEADER;
@@ -120,6 +128,61 @@ class BookingControllerTest {
         verify(bookingService).approveBooking(anyLong(), anyLong(), anyBoolean());
     }
 
+    @Test
+    void createAllIsOk() throws Exception {
+        when(bookingService.createAll(any(), anyLong())).thenReturn(List.of(outputBookingDto));
+        mvc.perform(post("/bookings/batch")
+                        .header(USER_ID_IN_HEADER, 1L)
+                        .content(objectMapper.writeValueAsString(List.of(inputBookingDto)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(1))
+                .andExpect(jsonPath("$.[0].id").value(booking.getId()))
+                .andExpect(jsonPath("$.[0].status").value(booking.getStatus().toString()));
+        verify(bookingService).createAll(List.of(inputBookingDto), 1L);
+    }
+
+    @Test
+    void createAllWithTimeCrossing() throws Exception {
+        inputBookingDto.setEnd(inputBookingDto.getStart().minusMinutes(30));
+        mvc.perform(post("/bookings/batch")
+                        .header(USER_ID_IN_HEADER, 1L)
+                        .content(objectMapper.writeValueAsString(List.of(inputBookingDto)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isInternalServerError());
+        verify(bookingService, never()).createAll(any(), anyLong());
+    }
+
+    @Test
+    void createAllEmpty() throws Exception {
+        mvc.perform(post("/bookings/batch")
+                        .header(USER_ID_IN_HEADER, 1L)
+                        .content("[]")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isInternalServerError());
+        verify(bookingService, never()).createAll(any(), anyLong());
+    }
+
+    @Test
+    void approveAllIsOk() throws Exception {
+        booking.setStatus(BookingStatus.APPROVED);
+        List<BookingApprovalDto> approvals = List.of(new BookingApprovalDto(1L, true));
+        when(bookingService.approveAll(any(), anyLong()))
+                .thenReturn(List.of(BookingMapper.toOutputBookingDto(booking)));
+        mvc.perform(patch("/bookings/batch")
+                        .header(USER_ID_IN_HEADER, 1L)
+                        .content(objectMapper.writeValueAsString(approvals))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].id").value(booking.getId()))
+                .andExpect(jsonPath("$.[0].status").value(BookingStatus.APPROVED.toString()));
+        verify(bookingService).approveAll(approvals, 1L);
+    }
+
     @Test
     void getByIdIsOk() throws Exception {
         when(bookingService.getBookingDtoById(anyLong(), anyLong())).thenReturn(BookingMapper
@@ -262,4 +325,35 @@ class BookingControllerTest {
                 .andExpect(status().isInternalServerError());
         verify(bookingService, never()).getBookingsOfOwner(any(), anyLong(), anyInt(), anyInt());
     }
+
+    @Test
+    void exportBookingsOfOwnerIsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<OutputBookingDto> action = invocation.getArgument(2);
+            action.accept(outputBookingDto);
+            action.accept(outputBookingDto);
+            action.accept(outputBookingDto);
+            return null;
+        }).when(bookingService).exportBookingsOfOwner(eq("PAST"), eq(1L), any());
+        String body = mvc.perform(get("/bookings/owner/export")
+                        .header(USER_ID_IN_HEADER, 1L)
+                        .param("state", "PAST"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String line = objectMapper.writeValueAsString(outputBookingDto);
+        assertEquals(line + "\n" + line + "\n" + line + "\n", body);
+        for (String row : body.split("\n")) {
+            assertTrue(row.startsWith("{"), row);
+        }
+    }
+
+    @Test
+    void exportBookingsOfOwnerUnknownUser() throws Exception {
+        doThrow(new NotFoundException("")).when(bookingService).exportBookingsOfOwner(any(), anyLong(), any());
+        mvc.perform(get("/bookings/owner/export")
+                        .header(USER_ID_IN_HEADER, 99L))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
 }
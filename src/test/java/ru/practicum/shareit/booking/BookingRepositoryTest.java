@@ -4,10 +4,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.projection.BookingView;
+import ru.practicum.shareit.booking.projection.ItemBookingView;
 import ru.practicum.shareit.booking.repositories.BookingRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
@@ -16,6 +19,9 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -76,4 +82,42 @@ class BookingRepositoryTest {
         assertEquals(booking12.getItem().getName(), bookings.get(0).getItem().getName());
         assertEquals(booking12.getId(), bookings.get(0).getId());
     }
+
+    @Test
+    void findLastAndNextApprovedReturnsClosestBookingOfEachKind() {
+        List<Booking> bookings = bookingRepository.findAll(BookingRepository.SORT_BY_START_AND_ID_DESC);
+        Booking next = bookings.get(1);
+        Booking last = bookings.get(2);
+        Long itemId = next.getItem().getId();
+        List<ItemBookingView> views = bookingRepository.findLastAndNextApproved(List.of(itemId),
+                start.plusMinutes(15));
+        assertEquals(2, views.size());
+        Map<String, ItemBookingView> byKind = views.stream()
+                .collect(Collectors.toMap(ItemBookingView::getKind, Function.identity()));
+        assertEquals(last.getId(), byKind.get(ItemBookingView.LAST).getId());
+        assertEquals(next.getId(), byKind.get(ItemBookingView.NEXT).getId());
+        assertEquals(itemId, byKind.get(ItemBookingView.NEXT).getItemId());
+        assertEquals(next.getBooker().getId(), byKind.get(ItemBookingView.NEXT).getBookerId());
+    }
+
+    @Test
+    void findOwnerBookingsPagesInDatabase() {
+        Long ownerId = bookingRepository.findAll(BookingRepository.SORT_BY_START_AND_ID_DESC).get(3)
+                .getItem().getOwner().getId();
+        Page<BookingView> page = bookingRepository.findOwnerBookings(ownerId,
+                PageRequest.of(0, 2, BookingRepository.SORT_BY_START_BY_DESC));
+        assertEquals(3, page.getTotalElements());
+        assertEquals(2, page.getContent().size());
+        assertEquals(booking33.getStart(), page.getContent().get(0).getStart());
+        assertEquals(booking33.getItem().getName(), page.getContent().get(0).getItemName());
+        assertEquals(booking33.getBooker().getEmail(), page.getContent().get(0).getBookerEmail());
+        assertEquals(1, bookingRepository.findFutureOwnerBookings(ownerId, start.plusMinutes(15), pageable)
+                .getTotalElements());
+        assertEquals(3, bookingRepository.findCurrentOwnerBookings(ownerId, start.plusMinutes(25), pageable)
+                .getTotalElements());
+        assertEquals(0, bookingRepository.findPastOwnerBookings(ownerId, start.plusMinutes(25), pageable)
+                .getTotalElements());
+        assertEquals(3, bookingRepository.findOwnerBookingsByStatus(ownerId, BookingStatus.APPROVED, pageable)
+                .getTotalElements());
+    }
 }
@@ -5,35 +5,59 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.InputBookingDto;
 import ru.practicum.shareit.booking.dto.OutputBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.projection.BookingView;
+import ru.practicum.shareit.booking.projection.ItemBookingProjection;
 import ru.practicum.shareit.booking.repositories.BookingRepository;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.exception.AccessException;
 import ru.practicum.shareit.exception.ArgumentException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserValidator;
+import ru.practicum.shareit.util.Cursor;
+import ru.practicum.shareit.util.CursorPage;
+import ru.practicum.shareit.util.EntityCache;
 import ru.practicum.shareit.util.PageUtil;
+import ru.practicum.shareit.util.StripedLocks;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -46,6 +70,16 @@ class BookingServiceImplTest {
     UserRepository userRepository;
     @Mock
     ItemRepository itemRepository;
+    @Mock
+    ItemBookingProjection itemBookingProjection;
+    @Mock
+    UserValidator userValidator;
+    @Mock
+    EntityCache entityCache;
+    @Spy
+    StripedLocks itemLocks = new StripedLocks(16, 1000);
+    @Spy
+    TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
     @InjectMocks
     BookingServiceImpl bookingService;
 
@@ -85,21 +119,20 @@ class BookingServiceImplTest {
 
     @Test
     void createUserEmpty() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        doThrow(new NotFoundException("")).when(userValidator).validateExists(anyLong());
         assertThrows(NotFoundException.class, () -> bookingService.create(inputBookingDto, user.getId()));
         verify(bookingRepository, never()).save(any());
     }
 
     @Test
     void createWithoutUser() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        doThrow(new NotFoundException("")).when(userValidator).validateExists(anyLong());
         assertThrows(NotFoundException.class, () -> bookingService.create(inputBookingDto, user.getId()));
         verify(bookingRepository, never()).save(any());
     }
 
     @Test
     void createWithOwnerNull() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user2));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
         item.setOwner(null);
         assertThrows(AccessException.class, () -> bookingService.create(inputBookingDto, user2.getId()));
@@ -108,28 +141,25 @@ class BookingServiceImplTest {
 
     @Test
     void createWithBadUser() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
         assertThrows(AccessException.class, () -> bookingService.create(inputBookingDto, user.getId()));
-        verify(userRepository).findById(anyLong());
+        verify(userValidator).validateExists(anyLong());
         verify(itemRepository).findById(anyLong());
         verify(bookingRepository, never()).save(any());
     }
 
     @Test
     void createWithBadTime() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user2));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
         inputBookingDto.setEnd(inputBookingDto.getStart().minusMinutes(10));
         assertThrows(ValidationException.class, () -> bookingService.create(inputBookingDto, user2.getId()));
-        verify(userRepository).findById(anyLong());
+        verify(userValidator).validateExists(anyLong());
         verify(itemRepository).findById(anyLong());
         verify(bookingRepository, never()).save(any());
     }
 
     @Test
     void createItemEmpty() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.empty());
         assertThrows(NotFoundException.class, () -> bookingService.create(inputBookingDto, user.getId()));
         verify(bookingRepository, never()).save(any());
@@ -137,25 +167,58 @@ class BookingServiceImplTest {
 
     @Test
     void createAvailableFalse() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
         item.setAvailable(false);
         assertThrows(ValidationException.class, () -> bookingService.create(inputBookingDto, user2.getId()));
         verify(bookingRepository, never()).save(any());
     }
 
+    @Test
+    void createOverlappingApproved() {
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(bookingRepository.existsApprovedOverlap(item.getId(), inputBookingDto.getStart(),
+                inputBookingDto.getEnd())).thenReturn(true);
+        assertThrows(ConflictException.class, () -> bookingService.create(inputBookingDto, user2.getId()));
+        verify(bookingRepository, never()).save(any());
+    }
+
     @Test
     void approveBookingIsOk() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user2));
+        when(bookingRepository.findItemIdById(anyLong())).thenReturn(Optional.of(item.getId()));
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
         OutputBookingDto outputBookingDto1 = bookingService.approveBooking(booking.getId(), user.getId(), true);
         assertEquals(BookingStatus.APPROVED, outputBookingDto1.getStatus());
-        verify(userRepository).findById(anyLong());
+        verify(bookingRepository).lockItem(item);
+        verify(itemLocks).withLock(eq(item.getId()), any());
+        verify(entityCache).evict(Item.class, item.getId());
+        verify(itemBookingProjection).onApproved(booking);
+        verify(userValidator).validateExists(anyLong());
         verify(bookingRepository).findById(anyLong());
         verify(bookingRepository).save(any(Booking.class));
     }
 
+    @Test
+    void approveBookingOverlappingApproved() {
+        when(bookingRepository.findItemIdById(anyLong())).thenReturn(Optional.of(item.getId()));
+        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.existsApprovedOverlap(item.getId(), booking.getStart(), booking.getEnd(),
+                booking.getId())).thenReturn(true);
+        assertThrows(ConflictException.class, () -> bookingService.approveBooking(booking.getId(), user.getId(), true));
+        verify(bookingRepository, never()).lockItem(any());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void rejectBookingDoesNotLockItem() {
+        when(bookingRepository.findItemIdById(anyLong())).thenReturn(Optional.of(item.getId()));
+        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        OutputBookingDto outputBookingDto = bookingService.approveBooking(booking.getId(), user.getId(), false);
+        assertEquals(BookingStatus.REJECTED, outputBookingDto.getStatus());
+        verify(bookingRepository, never()).lockItem(any());
+    }
+
     @Test
     void approveBookingNotOwner() {
         assertThrows(NotFoundException.class, () -> bookingService.approveBooking(booking.getId(), user3.getId(), true));
@@ -164,28 +227,101 @@ class BookingServiceImplTest {
 
     @Test
     void approveBookingAlreadyApproved() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(bookingRepository.findItemIdById(anyLong())).thenReturn(Optional.of(item.getId()));
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
         booking.setStatus(BookingStatus.APPROVED);
         assertThrows(ValidationException.class, () -> bookingService.approveBooking(booking.getId(), user.getId(), true));
-        verify(userRepository).findById(anyLong());
+        verify(userValidator).validateExists(anyLong());
         verify(bookingRepository).findById(anyLong());
         verify(bookingRepository, never()).save(any());
     }
 
     @Test
     void approveBookingUserNotOwner() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user2));
+        when(bookingRepository.findItemIdById(anyLong())).thenReturn(Optional.of(item.getId()));
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
         assertThrows(AccessException.class, () -> bookingService.approveBooking(booking.getId(), user2.getId(), true));
-        verify(userRepository).findById(anyLong());
+        verify(userValidator).validateExists(anyLong());
         verify(bookingRepository).findById(anyLong());
         verify(bookingRepository, never()).save(any());
     }
 
+    @Test
+    void createAllIsOk() {
+        when(itemRepository.findAllById(Set.of(item.getId()))).thenReturn(List.of(item));
+        when(bookingRepository.findAllByItemIdInAndStatus(Set.of(item.getId()), BookingStatus.APPROVED))
+                .thenReturn(List.of());
+        when(userRepository.findById(user2.getId())).thenReturn(Optional.of(user2));
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        List<OutputBookingDto> created = bookingService.createAll(List.of(inputBookingDto, inputBookingDto),
+                user2.getId());
+        assertEquals(2, created.size());
+        assertEquals(BookingStatus.WAITING, created.get(1).getStatus());
+        assertEquals(user2.getId(), created.get(1).getBooker().getId());
+    }
+
+    @Test
+    void createAllOverlappingApproved() {
+        Booking approved = Booking.builder().id(2L).item(item).booker(user3).status(BookingStatus.APPROVED)
+                .start(booking.getStart().minusMinutes(5)).end(booking.getStart().plusMinutes(5)).build();
+        when(itemRepository.findAllById(Set.of(item.getId()))).thenReturn(List.of(item));
+        when(bookingRepository.findAllByItemIdInAndStatus(Set.of(item.getId()), BookingStatus.APPROVED))
+                .thenReturn(List.of(approved));
+        when(userRepository.findById(user2.getId())).thenReturn(Optional.of(user2));
+        assertThrows(ConflictException.class, () -> bookingService.createAll(List.of(inputBookingDto),
+                user2.getId()));
+        verify(bookingRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void createAllWithUnknownItem() {
+        when(itemRepository.findAllById(Set.of(item.getId()))).thenReturn(List.of());
+        when(userRepository.findById(user2.getId())).thenReturn(Optional.of(user2));
+        assertThrows(NotFoundException.class, () -> bookingService.createAll(List.of(inputBookingDto),
+                user2.getId()));
+        verify(bookingRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void approveAllIsOk() {
+        Booking other = Booking.builder().id(2L).item(item).booker(user3).status(BookingStatus.WAITING)
+                .start(booking.getStart()).end(booking.getEnd()).build();
+        when(bookingRepository.findItemIdsByIdIn(Set.of(1L, 2L))).thenReturn(List.of(item.getId()));
+        when(bookingRepository.findAllWithItemAndBookerByIdIn(Set.of(1L, 2L))).thenReturn(List.of(other, booking));
+        when(bookingRepository.findAllByItemIdInAndStatus(Set.of(item.getId()), BookingStatus.APPROVED))
+                .thenReturn(List.of());
+        List<OutputBookingDto> result = bookingService.approveAll(List.of(new BookingApprovalDto(1L, true),
+                new BookingApprovalDto(2L, false)), user.getId());
+        assertEquals(List.of(1L, 2L), List.of(result.get(0).getId(), result.get(1).getId()));
+        assertEquals(BookingStatus.APPROVED, result.get(0).getStatus());
+        assertEquals(BookingStatus.REJECTED, result.get(1).getStatus());
+        verify(itemLocks).withLocks(eq(List.of(item.getId())), any());
+        verify(bookingRepository).lockItem(item);
+        verify(entityCache).evict(Item.class, item.getId());
+    }
+
+    @Test
+    void approveAllOverlappingWithinBatch() {
+        Booking other = Booking.builder().id(2L).item(item).booker(user3).status(BookingStatus.WAITING)
+                .start(booking.getStart().plusMinutes(5)).end(booking.getEnd().plusMinutes(5)).build();
+        when(bookingRepository.findItemIdsByIdIn(Set.of(1L, 2L))).thenReturn(List.of(item.getId()));
+        when(bookingRepository.findAllWithItemAndBookerByIdIn(Set.of(1L, 2L))).thenReturn(List.of(booking, other));
+        when(bookingRepository.findAllByItemIdInAndStatus(Set.of(item.getId()), BookingStatus.APPROVED))
+                .thenReturn(List.of());
+        assertThrows(ConflictException.class, () -> bookingService.approveAll(List.of(
+                new BookingApprovalDto(1L, true), new BookingApprovalDto(2L, true)), user.getId()));
+        verify(bookingRepository, never()).lockItem(any());
+    }
+
+    @Test
+    void approveAllListingBookingTwice() {
+        assertThrows(ValidationException.class, () -> bookingService.approveAll(List.of(
+                new BookingApprovalDto(1L, true), new BookingApprovalDto(1L, false)), user.getId()));
+        verify(bookingRepository, never()).findAllWithItemAndBookerByIdIn(any());
+    }
+
     @Test
     void getBookingByIdIsOk() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
         OutputBookingDto outputBookingDto = bookingService.getBookingDtoById(booking.getId(), user.getId());
         assertEquals(outputBookingDto.getId(), booking.getId());
@@ -199,6 +335,7 @@ class BookingServiceImplTest {
 
     @Test
     void getBookingByIdNotFoundBooking() {
+        doThrow(new NotFoundException("")).when(userValidator).validateExists(anyLong());
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
         assertThrows(NotFoundException.class, () -> bookingService.getBookingDtoById(0L, user.getId()));
         verify(bookingRepository).findById(anyLong());
@@ -206,26 +343,32 @@ class BookingServiceImplTest {
 
     @Test
     void getBookingByIdNotFoundUser() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        doThrow(new NotFoundException("")).when(userValidator).validateExists(anyLong());
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
         assertThrows(NotFoundException.class, () -> bookingService.getBookingDtoById(booking.getId(), 0L));
         verify(bookingRepository).findById(anyLong());
-        verify(userRepository).findById(anyLong());
+        verify(userValidator).validateExists(anyLong());
+    }
+
+    private BookingView view(Booking booking) {
+        Item item = booking.getItem();
+        User booker = booking.getBooker();
+        return new BookingView(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                item.getId(), item.getName(), item.getDescription(), item.getAvailable(), null,
+                booker.getId(), booker.getName(), booker.getEmail());
     }
 
     @Test
     void getBookingByIdIncorrectUser() {
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user3));
         assertThrows(AccessException.class, () -> bookingService.getBookingDtoById(booking.getId(), user3.getId()));
         verify(bookingRepository).findById(anyLong());
     }
 
     @Test
     void getBookingsOfBookerOk() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(bookingRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(
-                new PageImpl<>(List.of(booking), PageUtil.getPageRequest(0, 10), 1)
+        when(bookingRepository.findViews(any(Specification.class), any(Pageable.class))).thenReturn(
+                new PageImpl<>(List.of(view(booking)), PageUtil.getPageRequest(0, 10), 1)
         );
         Long bookerId = booking.getBooker().getId();
         assertEquals(1, bookingService.getBookingsOfBooker("ALL", bookerId, 0, 10)
@@ -244,18 +387,19 @@ class BookingServiceImplTest {
 
     @Test
     void getBookingsOfBookerWithBadState() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
         assertThrows(ArgumentException.class, () -> bookingService.getBookingsOfBooker("Cherry", user.getId(),
                 0, 10));
-        verify(userRepository).findById(anyLong());
+        verify(userValidator).validateExists(anyLong());
     }
 
     @Test
     void getBookingsOfOwnerIsOk() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(bookingRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(
-                new PageImpl<>(List.of(booking), PageUtil.getPageRequest(0, 10), 1)
-        );
+        PageImpl<BookingView> page = new PageImpl<>(List.of(view(booking)), PageUtil.getPageRequest(0, 10), 1);
+        when(bookingRepository.findOwnerBookings(anyLong(), any(Pageable.class))).thenReturn(page);
+        when(bookingRepository.findOwnerBookingsByStatus(anyLong(), any(), any(Pageable.class))).thenReturn(page);
+        when(bookingRepository.findCurrentOwnerBookings(anyLong(), any(), any(Pageable.class))).thenReturn(page);
+        when(bookingRepository.findPastOwnerBookings(anyLong(), any(), any(Pageable.class))).thenReturn(page);
+        when(bookingRepository.findFutureOwnerBookings(anyLong(), any(), any(Pageable.class))).thenReturn(page);
         Long ownerId = booking.getItem().getOwner().getId();
         assertEquals(1, bookingService.getBookingsOfOwner("ALL", ownerId, 0, 10)
                 .getTotalElements());
@@ -269,13 +413,65 @@ class BookingServiceImplTest {
                 .getTotalElements());
         assertEquals(1, bookingService.getBookingsOfOwner("FUTURE", ownerId, 0, 10)
                 .getTotalElements());
+        verify(bookingRepository).findOwnerBookingsByStatus(eq(ownerId), eq(BookingStatus.WAITING), any());
+        verify(bookingRepository).findOwnerBookingsByStatus(eq(ownerId), eq(BookingStatus.REJECTED), any());
+        verify(bookingRepository, never()).findViews(any(Specification.class), any(Pageable.class));
     }
 
     @Test
     void getBookingsOfOwnerWithBadState() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
         assertThrows(ArgumentException.class, () -> bookingService.getBookingsOfOwner("Cherry", user.getId(),
                 0, 10));
-        verify(userRepository).findById(anyLong());
+        verify(userValidator).validateExists(anyLong());
+    }
+
+    @Test
+    void getBookingsOfBookerByCursorReturnsNextCursor() {
+        Booking older = Booking.builder().id(2L).item(item).booker(user2).status(BookingStatus.WAITING)
+                .start(booking.getStart().minusDays(1)).end(booking.getEnd().minusDays(1)).build();
+        List<BookingView> views = List.of(view(booking), view(older));
+        when(bookingRepository.findViews(any(Specification.class), eq(BookingRepository.SORT_BY_START_AND_ID_DESC),
+                eq(2))).thenReturn(views);
+        CursorPage<OutputBookingDto> page = bookingService.getBookingsOfBooker("ALL", user2.getId(), null, 1);
+        assertEquals(1, page.getContent().size());
+        assertEquals(booking.getId(), page.getContent().get(0).getId());
+        Cursor cursor = Cursor.decode(page.getNextCursor());
+        assertEquals(booking.getStart(), cursor.getTime());
+        assertEquals(booking.getId(), cursor.getId());
+    }
+
+    @Test
+    void getBookingsOfOwnerByCursorLastPage() {
+        when(bookingRepository.findViews(any(Specification.class), any(Sort.class), anyInt()))
+                .thenReturn(List.of(view(booking)));
+        CursorPage<OutputBookingDto> page = bookingService.getBookingsOfOwner("FUTURE", user.getId(),
+                Cursor.encode(booking.getStart().plusDays(1), 10L), 5);
+        assertEquals(1, page.getContent().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getBookingsOfOwnerWithBadCursor() {
+        assertThrows(ArgumentException.class, () -> bookingService.getBookingsOfOwner("ALL", user.getId(),
+                "not a cursor", 5));
+    }
+
+    @Test
+    void exportBookingsOfOwnerStreamsAndClosesCursor() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(bookingRepository.streamViews(any(Specification.class), eq(BookingRepository.SORT_BY_START_AND_ID_DESC),
+                anyInt())).thenReturn(Stream.of(view(booking)).onClose(() -> closed.set(true)));
+        List<OutputBookingDto> exported = new ArrayList<>();
+        bookingService.exportBookingsOfOwner("ALL", user.getId(), exported::add);
+        assertEquals(1, exported.size());
+        assertEquals(booking.getId(), exported.get(0).getId());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void exportBookingsOfOwnerWithUnknownState() {
+        assertThrows(ArgumentException.class, () -> bookingService.exportBookingsOfOwner("UNKNOWN", user.getId(),
+                booking -> { }));
+        verify(bookingRepository, never()).streamViews(any(), any(), anyInt());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.projection.ItemBookingProjection;
+import ru.practicum.shareit.booking.projection.ItemBookingView;
+import ru.practicum.shareit.booking.projection.ItemBookings;
+import ru.practicum.shareit.booking.repositories.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemBookingProjectionTest {
+    @Mock
+    BookingRepository bookingRepository;
+    ItemBookingProjection projection;
+    User booker;
+    Item item;
+    MutableClock clock = new MutableClock(Instant.parse("2024-01-10T12:00:00Z"));
+    LocalDateTime now = LocalDateTime.now(clock);
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        booker = User.builder().id(2L).name("user2").email("user2@mail.ru").build();
+        item = Item.builder().id(1L).name("item1").description("description1").available(true).build();
+        projection = new ItemBookingProjection(bookingRepository, clock);
+    }
+
+    private Booking approved(long id, LocalDateTime start) {
+        return Booking.builder().id(id).item(item).booker(booker).status(BookingStatus.APPROVED)
+                .start(start).end(start.plusHours(1)).build();
+    }
+
+    private ItemBookingView view(long id, LocalDateTime start, String kind) {
+        ItemBookingView view = mock(ItemBookingView.class);
+        when(view.getItemId()).thenReturn(1L);
+        when(view.getId()).thenReturn(id);
+        when(view.getStart()).thenReturn(start);
+        when(view.getEnd()).thenReturn(start.plusHours(1));
+        when(view.getBookerId()).thenReturn(2L);
+        when(view.getKind()).thenReturn(kind);
+        return view;
+    }
+
+    @Test
+    void getResolvesMissingItemsWithWindowQuery() {
+        List<ItemBookingView> views = List.of(view(2L, now.minusDays(1), ItemBookingView.LAST),
+                view(4L, now.plusDays(1), ItemBookingView.NEXT));
+        when(bookingRepository.findLastAndNextApproved(List.of(1L, 5L), now)).thenReturn(views);
+        ItemBookings bookings = projection.get(List.of(1L, 5L)).get(1L);
+        assertEquals(2L, bookings.getLast().getId());
+        assertEquals(4L, bookings.getNext().getId());
+        assertEquals(2L, bookings.getNext().getBookerId());
+        assertEquals(ItemBookings.EMPTY, projection.get(List.of(5L)).get(5L));
+        projection.get(List.of(1L, 5L));
+        verify(bookingRepository, times(1)).findLastAndNextApproved(anyCollection(), any());
+    }
+
+    @Test
+    void onApprovedUpdatesProjectedItem() {
+        when(bookingRepository.findLastAndNextApproved(List.of(1L), now))
+                .thenReturn(List.of(view(1L, now.plusDays(3), ItemBookingView.NEXT)));
+        projection.get(List.of(1L));
+        projection.onApproved(approved(2L, now.plusDays(1)));
+        ItemBookings bookings = projection.get(List.of(1L)).get(1L);
+        assertNull(bookings.getLast());
+        assertEquals(2L, bookings.getNext().getId());
+        verify(bookingRepository, times(1)).findLastAndNextApproved(anyCollection(), any());
+    }
+
+    @Test
+    void startedNextBookingReloadsItem() {
+        when(bookingRepository.findLastAndNextApproved(List.of(1L), now))
+                .thenReturn(List.of(view(1L, now.plusMinutes(10), ItemBookingView.NEXT)));
+        projection.get(List.of(1L));
+        clock.advance(Duration.ofMinutes(20));
+        when(bookingRepository.findLastAndNextApproved(List.of(1L), now.plusMinutes(20)))
+                .thenReturn(List.of(view(1L, now.plusMinutes(10), ItemBookingView.LAST)));
+        ItemBookings bookings = projection.get(List.of(1L)).get(1L);
+        assertEquals(1L, bookings.getLast().getId());
+        assertNull(bookings.getNext());
+        verify(bookingRepository, times(2)).findLastAndNextApproved(anyCollection(), any());
+    }
+
+    @Test
+    void evictAllReloadsEveryItem() {
+        when(bookingRepository.findLastAndNextApproved(List.of(1L), now)).thenReturn(List.of());
+        projection.get(List.of(1L));
+        projection.evictAll();
+        projection.get(List.of(1L));
+        verify(bookingRepository, times(2)).findLastAndNextApproved(anyCollection(), any());
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.config;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.projection.ItemBookingProjection;
+import ru.practicum.shareit.booking.projection.ItemBookings;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "shareit.datasource.replica.jdbc-url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "shareit.datasource.replica.username=sa"})
+class ReplicaDataSourceConfigTest {
+    @Autowired
+    DataSource dataSource;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    DataSource primary;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    DataSource replica;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    UserService userService;
+    @Autowired
+    ItemBookingProjection itemBookingProjection;
+
+    @BeforeEach
+    void migrateReplica() {
+        Flyway.configure().dataSource(replica).locations("classpath:db/migration").load().migrate();
+    }
+
+    @AfterEach
+    void clean() {
+        for (DataSource source : List.of(primary, replica)) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(source);
+            jdbcTemplate.update("delete from bookings");
+            jdbcTemplate.update("delete from items");
+            jdbcTemplate.update("delete from users");
+        }
+        itemBookingProjection.evictAll();
+    }
+
+    @Test
+    void readOnlyServiceMethodsReadReplicaAndWritesGoToPrimary() {
+        userService.add(User.builder().name("primary").email("primary@mail.ru").build());
+
+        assertTrue(userService.getAll().isEmpty());
+
+        new JdbcTemplate(replica).update("insert into users (id, name, email) values (100, 'replica', 'r@mail.ru')");
+        List<UserDto> users = userService.getAll();
+
+        assertEquals(1, users.size());
+        assertEquals("replica", users.get(0).getName());
+        assertEquals(List.of("primary"), new TransactionTemplate(transactionManager).execute(status ->
+                new JdbcTemplate(dataSource).queryForList("select name from users", String.class)));
+    }
+
+    @Test
+    void readOnlyTransactionsDoNotFlush() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        FlushMode flushMode = readOnly.execute(status ->
+                entityManager.unwrap(Session.class).getHibernateFlushMode());
+
+        assertEquals(FlushMode.MANUAL, flushMode);
+    }
+
+    @Test
+    void itemBookingsAreLoadedFromPrimaryInsideReadOnlyTransactions() {
+        for (DataSource source : List.of(primary, replica)) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(source);
+            jdbcTemplate.update("insert into users (id, name, email) values (1, 'owner', 'owner@mail.ru')");
+            jdbcTemplate.update("insert into users (id, name, email) values (2, 'booker', 'booker@mail.ru')");
+            jdbcTemplate.update("insert into items (id, name, description, is_available, owner_id) "
+                    + "values (10, 'drill', 'cordless', true, 1)");
+        }
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        new JdbcTemplate(primary).update("insert into bookings (id, start_booking, end_booking, item_id, booker_id, "
+                + "status) values (20, ?, ?, 10, 2, 'APPROVED')", start, start.plusHours(1));
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        ItemBookings bookings = readOnly.execute(status -> itemBookingProjection.get(List.of(10L)).get(10L));
+
+        assertEquals(20L, bookings.getNext().getId());
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadsConfigTest {
+    @Test
+    void executorRunsTasksOnVirtualThreadsOrFailsBeforeJava21() throws Exception {
+        if (Runtime.version().feature() < 21) {
+            assertThrows(IllegalStateException.class, VirtualThreadsConfig::newVirtualThreadPerTaskExecutor);
+            return;
+        }
+        ExecutorService executor = VirtualThreadsConfig.newVirtualThreadPerTaskExecutor();
+        try {
+            Object virtual = executor.submit(() -> Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()))
+                    .get(5, TimeUnit.SECONDS);
+            assertTrue((Boolean) virtual);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.InvertedIndexItemSearchEngine;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InvertedIndexItemSearchEngineTest {
+    @Mock
+    ItemRepository itemRepository;
+    InvertedIndexItemSearchEngine searchEngine;
+    Item drill, saw, hiddenDrill;
+
+    @BeforeEach
+    void beforeEach() {
+        searchEngine = new InvertedIndexItemSearchEngine(itemRepository);
+        drill = Item.builder().id(1L).name("Drill").description("Electric drill, 500W").available(true).build();
+        saw = Item.builder().id(2L).name("Saw").description("Hand saw for wood").available(true).build();
+        hiddenDrill = Item.builder().id(3L).name("Drill").description("Broken").available(false).build();
+    }
+
+    @Test
+    void rebuildIndexesOnlyAvailableItems() {
+        when(itemRepository.findTop1000ByIdGreaterThanOrderByIdAsc(0L)).thenReturn(List.of(drill, saw, hiddenDrill));
+        when(itemRepository.findTop1000ByIdGreaterThanOrderByIdAsc(3L)).thenReturn(List.of());
+        when(itemRepository.findAllById(List.of(1L))).thenReturn(List.of(drill));
+        searchEngine.rebuild();
+        Page<Item> page = searchEngine.search("DRILL", PageRequest.of(0, 10));
+        assertEquals(1, page.getTotalElements());
+        assertEquals(drill.getId(), page.getContent().get(0).getId());
+    }
+
+    @Test
+    void searchRequiresAllTokens() {
+        searchEngine.index(drill);
+        searchEngine.index(saw);
+        when(itemRepository.findAllById(List.of(2L))).thenReturn(List.of(saw));
+        assertEquals(List.of(saw), searchEngine.search("wood saw", PageRequest.of(0, 10)).getContent());
+        assertTrue(searchEngine.search("wood drill", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void searchKeepsPagingContract() {
+        searchEngine.index(drill);
+        searchEngine.index(Item.builder().id(4L).name("Drill 2").description("Spare drill").available(true).build());
+        when(itemRepository.findAllById(List.of(4L))).thenReturn(List.of());
+        Page<Item> page = searchEngine.search("drill", PageRequest.of(1, 1));
+        assertEquals(2, page.getTotalElements());
+        verify(itemRepository).findAllById(List.of(4L));
+    }
+
+    @Test
+    void updateAndRemoveAreAppliedIncrementally() {
+        searchEngine.index(drill);
+        drill.setAvailable(false);
+        searchEngine.index(drill);
+        assertTrue(searchEngine.search("drill", PageRequest.of(0, 10)).isEmpty());
+        searchEngine.index(saw);
+        searchEngine.remove(saw.getId());
+        assertTrue(searchEngine.search("saw", PageRequest.of(0, 10)).isEmpty());
+        searchEngine.index(saw);
+        assertTrue(searchEngine.search("", PageRequest.of(0, 10)).isEmpty());
+        verify(itemRepository, never()).findAllById(anyIterable());
+        verify(itemRepository, never()).findTop1000ByIdGreaterThanOrderByIdAsc(anyLong());
+    }
+}
@@ -13,12 +13,18 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.controller.ItemController;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.importing.ItemRow;
+import ru.practicum.shareit.item.importing.ItemRowReader;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.util.PageUtil;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -29,6 +35,7 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -45,6 +52,8 @@ class ItemControllerTest {
 
     @MockBean
     ItemService itemService;
+    @MockBean
+    ItemImportService itemImportService;
     @Autowired
     MockMvc mvc;
     @Autowired
@@ -273,4 +282,54 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.created").isNotEmpty());
         verify(itemService).addComment(anyLong(), anyLong(), any(CommentDto.class));
     }
+
+    @Test
+    void importCsvReadsRows() throws Exception {
+        when(itemImportService.importItems(eq(1L), any())).thenAnswer(invocation -> readAll(invocation.getArgument(1)));
+        mvc.perform(post("/items/import")
+                        .header(USER_ID_IN_HEADER, 1L)
+                        .content("name,description,available\ndrill,\"cordless, 18V\",true\nsaw,,maybe\n")
+                        .contentType("text/csv"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+    }
+
+    @Test
+    void importNdjsonReadsRows() throws Exception {
+        when(itemImportService.importItems(eq(1L), any())).thenAnswer(invocation -> readAll(invocation.getArgument(1)));
+        mvc.perform(post("/items/import")
+                        .header(USER_ID_IN_HEADER, 1L)
+                        .content(objectMapper.writeValueAsString(itemDto) + "\n\n{not json}\n")
+                        .contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+    }
+
+    @Test
+    void importWithUnknownCsvColumn() throws Exception {
+        when(itemImportService.importItems(eq(1L), any())).thenAnswer(invocation -> readAll(invocation.getArgument(1)));
+        mvc.perform(post("/items/import")
+                        .header(USER_ID_IN_HEADER, 1L)
+                        .content("name,price\ndrill,10\n")
+                        .contentType("text/csv"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static ItemImportResultDto readAll(ItemRowReader rows) throws IOException {
+        ItemImportResultDto result = new ItemImportResultDto();
+        ItemRow row;
+        while ((row = rows.next()) != null) {
+            if (row.getError() == null) {
+                result.setImported(result.getImported() + 1);
+            } else {
+                result.setRejected(result.getRejected() + 1);
+                result.getErrors().add(new ItemImportErrorDto(row.getLine(), row.getError()));
+            }
+        }
+        return result;
+    }
 }
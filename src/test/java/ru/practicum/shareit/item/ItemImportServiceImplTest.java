@@ -0,0 +1,146 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.importing.ItemRowReader;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemImportServiceImpl;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserValidator;
+
+import javax.validation.Validation;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemImportServiceImplTest {
+    private static final String HEADER = "name,description,available,requestId\n";
+
+    @Mock
+    ItemRepository itemRepository;
+    @Mock
+    ItemRequestRepository itemRequestRepository;
+    @Mock
+    UserRepository userRepository;
+    @Mock
+    UserValidator userValidator;
+    @Mock
+    ItemSearchEngine itemSearchEngine;
+    ItemImportServiceImpl itemImportService;
+    User owner;
+    ItemRequest request;
+
+    @BeforeEach
+    void beforeEach() {
+        itemImportService = new ItemImportServiceImpl(itemRepository, itemRequestRepository, userRepository,
+                userValidator, itemSearchEngine, Validation.buildDefaultValidatorFactory().getValidator(),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        owner = User.builder().id(1L).name("owner").email("owner@mail.ru").build();
+        request = ItemRequest.builder().id(5L).description("need a drill").build();
+    }
+
+    private static ItemRowReader csv(String body) {
+        return ItemRowReader.csv(new BufferedReader(new StringReader(HEADER + body)));
+    }
+
+    @Test
+    void importSavesValidRowsAndReportsOthers() throws Exception {
+        when(itemRequestRepository.findAllById(Set.of(5L, 6L))).thenReturn(List.of(request));
+        when(userRepository.getReferenceById(1L)).thenReturn(owner);
+        when(itemRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        ItemImportResultDto result = itemImportService.importItems(1L, csv("drill,cordless,true,5\n"
+                + "saw,hand saw,true,6\n"
+                + ",no name,true,\n"));
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertEquals(List.of(new ItemImportErrorDto(3, "Request with id:6 is not found "),
+                new ItemImportErrorDto(4, "Name must be filled")), result.getErrors());
+        verify(itemSearchEngine).index(any(Item.class));
+    }
+
+    @Test
+    void importResolvesRequestsOncePerChunk() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i <= ItemImportServiceImpl.CHUNK_SIZE; i++) {
+            body.append("item").append(i).append(",description,true,5\n");
+        }
+        when(itemRequestRepository.findAllById(Set.of(5L))).thenReturn(List.of(request));
+        when(userRepository.getReferenceById(1L)).thenReturn(owner);
+        when(itemRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        ItemImportResultDto result = itemImportService.importItems(1L, csv(body.toString()));
+        assertEquals(ItemImportServiceImpl.CHUNK_SIZE + 1, result.getImported());
+        verify(itemRequestRepository, times(2)).findAllById(Set.of(5L));
+        verify(itemRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    void importReturnsSavedRowsWhenBodyBreaksAfterChunk() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i <= ItemImportServiceImpl.CHUNK_SIZE; i++) {
+            body.append("item").append(i).append(",description,true,\n");
+        }
+        body.append("broken,").append("x".repeat(ItemRowReader.MAX_RECORD_LENGTH)).append(",true,\n");
+        when(userRepository.getReferenceById(1L)).thenReturn(owner);
+        when(itemRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        ItemImportResultDto result = itemImportService.importItems(1L, csv(body.toString()));
+        assertEquals(ItemImportServiceImpl.CHUNK_SIZE + 1, result.getImported());
+        assertEquals(0, result.getRejected());
+        assertEquals(String.format("Record at line %d is longer than %d characters",
+                ItemImportServiceImpl.CHUNK_SIZE + 3, ItemRowReader.MAX_RECORD_LENGTH), result.getAborted());
+        verify(itemRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    void importSavesNothingWhenBodyBreaksInFirstChunk() {
+        String body = "drill,cordless,true,\nbroken," + "x".repeat(ItemRowReader.MAX_RECORD_LENGTH) + ",true,\n";
+        assertThrows(ValidationException.class, () -> itemImportService.importItems(1L, csv(body)));
+        verify(itemRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void importReportsRowsOfFailedChunk() throws Exception {
+        when(userRepository.getReferenceById(1L)).thenReturn(owner);
+        when(itemRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("owner is gone"));
+        ItemImportResultDto result = itemImportService.importItems(1L, csv("drill,cordless,true,\n"
+                + "saw,hand saw,false,\n"));
+        assertEquals(0, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertEquals("Not saved: owner is gone", result.getErrors().get(1).getMessage());
+        verify(itemSearchEngine, never()).index(any());
+    }
+
+    @Test
+    void importForUnknownOwner() {
+        doThrow(new NotFoundException("")).when(userValidator).validateExists(1L);
+        assertThrows(NotFoundException.class, () -> itemImportService.importItems(1L, csv("drill,cordless,true,\n")));
+        verify(itemRepository, never()).saveAll(any());
+    }
+}
@@ -9,6 +9,7 @@ import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -41,4 +42,22 @@ class ItemRepositoryTest {
         assertEquals(item3.getDescription(), items.get(1).getDescription());
         assertEquals(item1.getId(), items.get(0).getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findRankedAvailableItemsOrdersByRelevance() {
+        Item inDescription = Item.builder().name("Table").description("Drilling guide").available(true).build();
+        Item inName = Item.builder().name("Drilling machine").description("Heavy").available(true).build();
+        Item exactName = Item.builder().name("Drill").description("Electric").available(true).build();
+        Item exactDescription = Item.builder().name("Box").description("Bits for drill").available(true).build();
+        Item unavailable = Item.builder().name("Drill").description("Broken").available(false).build();
+        itemRepository.saveAll(List.of(inDescription, inName, exactName, exactDescription, unavailable));
+        assertEquals(List.of(exactName.getId(), inName.getId(), exactDescription.getId(), inDescription.getId()),
+                itemRepository.findRankedAvailableItems("drill", 10, 0).stream()
+                        .map(Item::getId)
+                        .collect(Collectors.toList()));
+        assertEquals(List.of(inName.getId(), exactDescription.getId()),
+                itemRepository.findRankedAvailableItems("drill", 2, 1).stream()
+                        .map(Item::getId)
+                        .collect(Collectors.toList()));
+    }
+}
@@ -5,10 +5,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.projection.BookingSlot;
+import ru.practicum.shareit.booking.projection.ItemBookingProjection;
+import ru.practicum.shareit.booking.projection.ItemBookings;
 import ru.practicum.shareit.booking.repositories.BookingRepository;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -18,14 +25,22 @@ import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.ItemView;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.InvertedIndexItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserValidator;
+import ru.practicum.shareit.util.Cursor;
+import ru.practicum.shareit.util.CursorPage;
+import ru.practicum.shareit.util.EntityCache;
 import ru.practicum.shareit.util.PageUtil;
+import ru.practicum.shareit.util.ReadTransactions;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -42,6 +57,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -58,6 +76,16 @@ class ItemServiceImplTest {
     CommentRepository commentRepository;
     @Mock
     ItemRequestRepository itemRequestRepository;
+    @Mock
+    ItemSearchEngine itemSearchEngine;
+    @Mock
+    ItemBookingProjection itemBookingProjection;
+    @Mock
+    EntityCache entityCache;
+    @Mock
+    UserValidator userValidator;
+    @Spy
+    ReadTransactions readTransactions = new ReadTransactions(mock(PlatformTransactionManager.class), false, 1);
     @InjectMocks
     ItemServiceImpl itemService;
     User user, user2;
@@ -87,6 +115,7 @@ class ItemServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
         when(itemRepository.save(any())).thenReturn(item);
         ItemDto newItemDto = itemService.add(user.getId(), itemDto);
+        verify(itemSearchEngine).index(item);
         assertNotNull(newItemDto);
         assertEquals(ItemDto.class, newItemDto.getClass());
         assertEquals(item.getId(), newItemDto.getId());
@@ -122,10 +151,10 @@ class ItemServiceImplTest {
         item.setName(mapUpdate.get("name"));
         item.setDescription(mapUpdate.get("description"));
         item.setAvailable(Boolean.valueOf(mapUpdate.get("available")));
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
         when(itemRepository.save(any())).thenReturn(item);
         ItemDto newItem = itemService.update(1L, 1L, mapUpdate);
+        verify(entityCache).evict(Item.class, 1L);
         assertEquals(mapUpdate.get("name"), newItem.getName());
         assertEquals(mapUpdate.get("description"), newItem.getDescription());
         assertEquals(Boolean.valueOf(mapUpdate.get("available")), newItem.getAvailable());
@@ -134,22 +163,20 @@ class ItemServiceImplTest {
 
     @Test
     void updateWithBadIdUser() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        doThrow(new NotFoundException("")).when(userValidator).validateExists(anyLong());
         assertThrows(NotFoundException.class, () -> itemService.update(0L, item.getId(), Map.of("a", "b")));
-        verify(userRepository).findById(anyLong());
+        verify(userValidator).validateExists(anyLong());
     }
 
     @Test
     void updateWithNoOwner() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user2));
         assertThrows(NotFoundException.class, () -> itemService.update(user2.getId(), item.getId(),
                 Map.of("a", "b")));
-        verify(userRepository).findById(anyLong());
+        verify(userValidator).validateExists(anyLong());
     }
 
     @Test
     void updateWithBadIdItem() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.empty());
         assertThrows(NotFoundException.class, () -> itemService.update(user.getId(), -1L,
                 Map.of("a", "b")));
@@ -167,6 +194,11 @@ class ItemServiceImplTest {
         verify(itemRepository).findById(anyLong());
     }
 
+    private ItemView view(Item item) {
+        return new ItemView(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getRequest() == null ? null : item.getRequest().getId());
+    }
+
     @Test
     void getItemByIdWhenItemNotFound() {
         when(itemRepository.findById(anyLong())).thenReturn(Optional.empty());
@@ -176,47 +208,61 @@ class ItemServiceImplTest {
 
     @Test
     void getAllIsOk() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemRepository.findAllByOwnerId(anyLong(), any())).thenReturn(
-                new PageImpl<>(List.of(item), PageUtil.getPageRequest(0, 100), 1)
+        when(itemRepository.findViewsByOwnerId(anyLong(), any())).thenReturn(
+                new PageImpl<>(List.of(view(item)), PageUtil.getPageRequest(0, 100), 1)
         );
         List<ItemDto> items = itemService.getAllUserItems(user.getId(), 0, 100).getContent();
         assertFalse(items.isEmpty());
         assertEquals(1, items.size());
         assertEquals(item.getId(), items.get(0).getId());
-        verify(userRepository).findById(anyLong());
-        verify(itemRepository).findAllByOwnerId(anyLong(), any());
+        verify(userValidator).validateExists(anyLong());
+        verify(itemRepository).findViewsByOwnerId(anyLong(), any());
+    }
+
+    @Test
+    void getAllSetsProjectedBookings() {
+        BookingSlot last = BookingSlot.of(booking);
+        when(itemRepository.findViewsByOwnerId(anyLong(), any())).thenReturn(
+                new PageImpl<>(List.of(view(item)), PageUtil.getPageRequest(0, 100), 1)
+        );
+        when(itemBookingProjection.get(List.of(item.getId())))
+                .thenReturn(Map.of(item.getId(), new ItemBookings(last, null)));
+        ItemDto actual = itemService.getAllUserItems(user.getId(), 0, 100).getContent().get(0);
+        assertEquals(booking.getId(), actual.getLastBooking().getId());
+        assertEquals(user.getId(), actual.getLastBooking().getBookerId());
+        assertEquals(item.getId(), actual.getLastBooking().getItem().getId());
+        assertNull(actual.getNextBooking());
+        verify(bookingRepository, never()).findAllByOwnerIdAndStatus(anyLong(), any());
     }
 
     @Test
     void getAllWithEmptyCollection() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemRepository.findAllByOwnerId(anyLong(), any())).thenReturn(
+        when(itemRepository.findViewsByOwnerId(anyLong(), any())).thenReturn(
                 new PageImpl<>(Collections.emptyList(), PageUtil.getPageRequest(0, 100), 0)
         );
         List<ItemDto> items = itemService.getAllUserItems(user.getId(), 0, 100).getContent();
         assertTrue(items.isEmpty());
-        verify(userRepository).findById(anyLong());
-        verify(itemRepository).findAllByOwnerId(anyLong(), any());
+        verify(userValidator).validateExists(anyLong());
+        verify(itemRepository).findViewsByOwnerId(anyLong(), any());
     }
 
     @Test
     void getAllWithEmptyUser() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        doThrow(new NotFoundException("")).when(userValidator).validateExists(anyLong());
         assertThrows(NotFoundException.class, () -> itemService.getAllUserItems(anyLong(), 0, 100));
-        verify(userRepository).findById(anyLong());
+        verify(userValidator).validateExists(anyLong());
     }
 
     @Test
     void searchAvailableItemsWithReturnCollection() {
-        when(itemRepository.searchAvailableItems(anyString(), any())).thenReturn(
+        when(itemSearchEngine.search(anyString(), any())).thenReturn(
                 new PageImpl<>(List.of(item), PageUtil.getPageRequest(0, 100), 1)
         );
         List<ItemDto> items = itemService.searchItems("quEry", 0, 100).getContent();
         assertFalse(items.isEmpty());
         assertEquals(1, items.size());
         assertEquals(items.get(0), ItemMapper.toItemDto(item));
-        verify(itemRepository).searchAvailableItems(anyString(), any());
+        verify(itemSearchEngine).search(anyString(), any());
     }
 
     @Test
@@ -273,15 +319,29 @@ class ItemServiceImplTest {
 
     @Test
     void deleteIsOk() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
         itemService.delete(user.getId(), item.getId());
         verify(itemRepository).delete(any());
+        verify(itemSearchEngine).remove(item.getId());
+        verify(entityCache).evict(Item.class, item.getId());
+    }
+
+    @Test
+    void searchAfterDeleteAllFindsNothing() {
+        InvertedIndexItemSearchEngine searchEngine = new InvertedIndexItemSearchEngine(itemRepository);
+        ItemServiceImpl service = new ItemServiceImpl(itemRepository, userRepository, bookingRepository,
+                commentRepository, itemRequestRepository, searchEngine, itemBookingProjection, entityCache,
+                userValidator, readTransactions);
+        searchEngine.index(item);
+        service.deleteAll();
+        Page<Item> page = searchEngine.search(item.getName(), PageRequest.of(0, 10));
+        assertEquals(0, page.getTotalElements());
+        verify(itemRepository).deleteAll();
+        verify(itemRepository, never()).findAllById(any());
     }
 
     @Test
     void deleteWithNotOwner() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user2));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
         assertThrows(NotFoundException.class,
                 () -> itemService.delete(user2.getId(), item.getId()));
@@ -295,7 +355,7 @@ class ItemServiceImplTest {
         ItemDto outItemDto = itemService.getItemDtoById(item.getId(), user.getId());
         assertEquals(outItemDto.getName(), item.getName());
         assertEquals(1, outItemDto.getComments().size());
-        verify(bookingRepository).findAllByItemIdAndStatus(anyLong(), any());
+        verify(itemBookingProjection).get(List.of(item.getId()));
     }
 
     @Test
@@ -305,7 +365,26 @@ class ItemServiceImplTest {
         item.setOwner(user);
         ItemDto outItemDto = itemService.getItemDtoById(item.getId(), user2.getId());
         assertEquals(outItemDto.getName(), item.getName());
-        verify(bookingRepository, never()).findAllByItemIdAndStatus(anyLong(), any());
+        verify(itemBookingProjection, never()).get(any());
     }
 
+    @Test
+    void getAllByCursorIsOk() {
+        Item nextItem = Item.builder().id(2L).name("item2").description("itemDescription2").available(true)
+                .owner(user).build();
+        when(itemRepository.findViewsByOwnerIdAfter(eq(user.getId()), eq(0L), any()))
+                .thenReturn(List.of(view(item), view(nextItem)));
+        CursorPage<ItemDto> page = itemService.getAllUserItems(user.getId(), null, 1);
+        assertEquals(1, page.getContent().size());
+        assertEquals(item.getId(), page.getContent().get(0).getId());
+        assertEquals(item.getId(), Cursor.decode(page.getNextCursor()).getId());
+    }
+
+    @Test
+    void searchByCursorIsOk() {
+        when(itemSearchEngine.searchAfter("drill", 1L, 11)).thenReturn(List.of(item));
+        CursorPage<ItemDto> page = itemService.searchItems("drill", Cursor.encode(null, 1L), 10);
+        assertEquals(List.of(ItemMapper.toItemDto(item)), page.getContent());
+        assertNull(page.getNextCursor());
+    }
 }
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.RankedItemSearchEngine;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RankedItemSearchEngineTest {
+    @Mock
+    ItemRepository itemRepository;
+    @InjectMocks
+    RankedItemSearchEngine searchEngine;
+    Item first, second, third;
+
+    @BeforeEach
+    void beforeEach() {
+        first = Item.builder().id(3L).name("Drill").description("Electric").available(true).build();
+        second = Item.builder().id(2L).name("Drilling machine").description("Heavy").available(true).build();
+        third = Item.builder().id(1L).name("Table").description("Drilling guide").available(true).build();
+    }
+
+    @Test
+    void searchReadsOneRowPastThePage() {
+        when(itemRepository.findRankedAvailableItems("drill", 3, 0L)).thenReturn(List.of(first, second, third));
+        Page<Item> page = searchEngine.search("DRILL", PageRequest.of(0, 2));
+        assertEquals(List.of(first, second), page.getContent());
+        assertTrue(page.hasNext());
+        assertEquals(3, page.getTotalElements());
+    }
+
+    @Test
+    void searchTotalIsExactOnLastPage() {
+        when(itemRepository.findRankedAvailableItems("drill", 3, 4L)).thenReturn(List.of(third));
+        Page<Item> page = searchEngine.search("drill", PageRequest.of(2, 2));
+        assertEquals(List.of(third), page.getContent());
+        assertFalse(page.hasNext());
+        assertEquals(5, page.getTotalElements());
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.TrigramItemSearchEngine;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TrigramItemSearchEngineTest {
+    @Mock
+    ItemRepository itemRepository;
+    TrigramItemSearchEngine searchEngine;
+    Item drill, saw, table;
+
+    @BeforeEach
+    void beforeEach() {
+        searchEngine = new TrigramItemSearchEngine(itemRepository);
+        drill = Item.builder().id(1L).name("Drill").description("Electric tool").available(true).build();
+        saw = Item.builder().id(2L).name("Saw").description("Hand saw for wood").available(true).build();
+        table = Item.builder().id(3L).name("Table").description("Has a built-in DRILLING guide").available(true)
+                .build();
+        searchEngine.index(drill);
+        searchEngine.index(saw);
+        searchEngine.index(table);
+    }
+
+    @Test
+    void searchMatchesInfix() {
+        when(itemRepository.findAllById(List.of(1L, 3L))).thenReturn(List.of(table, drill));
+        Page<Item> page = searchEngine.search("rIlL", PageRequest.of(0, 10));
+        assertEquals(2, page.getTotalElements());
+        assertEquals(List.of(drill, table), page.getContent());
+    }
+
+    @Test
+    void searchVerifiesCandidates() {
+        assertTrue(searchEngine.search("drillsaw", PageRequest.of(0, 10)).isEmpty());
+        assertTrue(searchEngine.search("electric wood", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void searchShortQueryRunsSqlSearch() {
+        PageRequest page = PageRequest.of(0, 10);
+        when(itemRepository.searchAvailableItems("aw", page)).thenReturn(new PageImpl<>(List.of(saw), page, 1));
+        when(itemRepository.findAvailableItemsAfter("aw", 0L, PageRequest.of(0, 5))).thenReturn(List.of(saw));
+        assertEquals(List.of(saw), searchEngine.search("aw", page).getContent());
+        assertEquals(List.of(saw), searchEngine.searchAfter("aw", 0L, 5));
+        verify(itemRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    void searchSkipsUnavailableAndRemovedItems() {
+        drill.setAvailable(false);
+        searchEngine.index(drill);
+        searchEngine.remove(table.getId());
+        assertTrue(searchEngine.search("rill", PageRequest.of(0, 10)).isEmpty());
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.item.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ItemRowReaderTest {
+    private static List<ItemRow> readAll(ItemRowReader reader) throws IOException {
+        List<ItemRow> rows = new ArrayList<>();
+        ItemRow row;
+        while ((row = reader.next()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static ItemRowReader csv(String body) {
+        return ItemRowReader.csv(new BufferedReader(new StringReader(body)));
+    }
+
+    @Test
+    void csvReadsQuotedFieldsInHeaderOrder() throws IOException {
+        List<ItemRow> rows = readAll(csv("requestId,Available,description,name\r\n"
+                + "7,TRUE,\"cordless, \"\"18V\"\"\nwith case\",drill\r\n"
+                + "\n"
+                + ",false,hand saw,saw"));
+        assertEquals(2, rows.size());
+        ItemDto drill = rows.get(0).getItem();
+        assertEquals("drill", drill.getName());
+        assertEquals("cordless, \"18V\"\nwith case", drill.getDescription());
+        assertEquals(true, drill.getAvailable());
+        assertEquals(7L, drill.getRequestId());
+        assertEquals(2, rows.get(0).getLine());
+        ItemRow saw = rows.get(1);
+        assertEquals(5, saw.getLine());
+        assertEquals(false, saw.getItem().getAvailable());
+        assertNull(saw.getItem().getRequestId());
+    }
+
+    @Test
+    void csvReportsBadRowsAndContinues() throws IOException {
+        List<ItemRow> rows = readAll(csv("name,description,available,requestId\n"
+                + "drill,cordless,yes,\n"
+                + "saw,hand saw,true,seven\n"
+                + "tent,two fields\n"
+                + "kayak,\"unterminated,true,"));
+        assertEquals(List.of("Available must be true or false: yes", "Request id is not a number: seven",
+                        "Expected 4 fields, found 2", "Quoted field is not closed"),
+                List.of(rows.get(0).getError(), rows.get(1).getError(), rows.get(2).getError(),
+                        rows.get(3).getError()));
+        assertEquals(5, rows.get(3).getLine());
+    }
+
+    @Test
+    void csvRejectsUnknownColumn() {
+        assertThrows(ValidationException.class, () -> csv("name,price\ndrill,10\n").next());
+        assertThrows(ValidationException.class, () -> csv("name,name\ndrill,drill\n").next());
+    }
+
+    @Test
+    void csvRejectsOversizedRecord() {
+        String body = "name,description,available\ndrill,\"" + "x".repeat(ItemRowReader.MAX_RECORD_LENGTH);
+        assertThrows(ValidationException.class, () -> readAll(csv(body)));
+    }
+
+    @Test
+    void ndjsonReportsBadLinesAndContinues() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ItemRowReader reader = ItemRowReader.ndjson(new BufferedReader(new StringReader(
+                "{\"name\":\"drill\",\"description\":\"cordless\",\"available\":true,\"requestId\":7}\n"
+                        + "\n"
+                        + "{\"name\":\n"
+                        + "{\"name\":\"saw\",\"description\":\"hand saw\",\"available\":false}")),
+                objectMapper.readerFor(ItemDto.class));
+        List<ItemRow> rows = readAll(reader);
+        assertEquals(3, rows.size());
+        assertEquals("drill", rows.get(0).getItem().getName());
+        assertEquals(7L, rows.get(0).getItem().getRequestId());
+        assertEquals(3, rows.get(1).getLine());
+        assertNull(rows.get(1).getItem());
+        assertEquals("saw", rows.get(2).getItem().getName());
+        assertEquals(4, rows.get(2).getLine());
+    }
+}
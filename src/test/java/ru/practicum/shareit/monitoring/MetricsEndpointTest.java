@@ -0,0 +1,65 @@
+package ru.practicum.shareit.monitoring;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repositories.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.constant.HeaderConstant.USER_ID_IN_HEADER;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class MetricsEndpointTest {
+    @Autowired
+    MockMvc mvc;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Test
+    void prometheusExposesHistogramsAndErrors() throws Exception {
+        mvc.perform(get("/users")).andExpect(status().isOk());
+        mvc.perform(get("/users/{id}", Long.MAX_VALUE)).andExpect(status().isNotFound());
+        User owner = userRepository.save(User.builder().name("owner").email("metrics-owner@mail.ru").build());
+        User booker = userRepository.save(User.builder().name("booker").email("metrics-booker@mail.ru").build());
+        Item item = itemRepository.save(Item.builder().name("drill").description("cordless").available(true)
+                .owner(owner).build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking booking = bookingRepository.save(Booking.builder().item(item).booker(booker)
+                .status(BookingStatus.WAITING).start(start).end(start.plusHours(1)).build());
+        mvc.perform(patch("/bookings/{id}", booking.getId())
+                        .header(USER_ID_IN_HEADER, owner.getId())
+                        .param("approved", "true"))
+                .andExpect(status().isOk());
+
+        String scrape = mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"));
+        assertTrue(scrape.contains("spring_data_repository_invocations_seconds_bucket{"));
+        assertTrue(scrape.contains("shareit_transaction_seconds_bucket{"));
+        assertTrue(scrape.contains("method=\"UserServiceImpl.getAll\""));
+        assertTrue(scrape.contains("method=\"BookingServiceImpl.approveBooking\""));
+        assertTrue(scrape.contains("shareit_errors_total{exception=\"NotFoundException\",status=\"404\""));
+    }
+}
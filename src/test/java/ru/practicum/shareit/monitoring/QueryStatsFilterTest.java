@@ -0,0 +1,84 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.constant.HeaderConstant.USER_ID_IN_HEADER;
+
+@SpringBootTest(properties = "shareit.query-stats.headers=true")
+@AutoConfigureMockMvc
+@Transactional
+class QueryStatsFilterTest {
+    @Autowired
+    MockMvc mvc;
+    @Autowired
+    MeterRegistry meterRegistry;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    QueryStatsFilter queryStatsFilter;
+
+    @Test
+    void requestCountsAreReturnedAndRecorded() throws Exception {
+        User user = userRepository.save(User.builder().name("user").email("stats@mail.ru").build());
+        Item item = itemRepository.save(Item.builder().name("item").description("description").available(true)
+                .owner(user).build());
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+
+        MvcResult result = mvc.perform(get("/items/{itemId}", item.getId())
+                        .header(USER_ID_IN_HEADER, user.getId()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertTrue(Integer.parseInt(result.getResponse().getHeader(QueryStatsFilter.STATEMENTS_HEADER)) > 0);
+        assertTrue(Integer.parseInt(result.getResponse().getHeader(QueryStatsFilter.ENTITIES_HEADER)) > 0);
+        assertNotNull(result.getResponse().getHeader(QueryStatsFilter.ROWS_HEADER));
+        assertTrue(result.getResponse().getContentAsString().contains("\"name\":\"item\""));
+        DistributionSummary statements = meterRegistry.find("shareit.request.statements")
+                .tag("uri", "/items/{itemId}")
+                .summary();
+        assertNotNull(statements);
+        assertEquals(1, statements.count());
+    }
+
+    @Test
+    void streamedResponseIsNotBuffered() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        queryStatsFilter.doFilter(new MockHttpServletRequest("GET", "/bookings/owner/export"), response, chain);
+
+        assertFalse(chain.getResponse() instanceof ContentCachingResponseWrapper);
+        assertNull(response.getHeader(QueryStatsFilter.STATEMENTS_HEADER));
+    }
+}
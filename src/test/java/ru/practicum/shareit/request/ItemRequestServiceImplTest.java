@@ -17,6 +17,9 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserValidator;
+import ru.practicum.shareit.util.Cursor;
+import ru.practicum.shareit.util.CursorPage;
 import ru.practicum.shareit.util.PageUtil;
 
 import java.time.LocalDateTime;
@@ -26,6 +29,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +37,8 @@ class ItemRequestServiceImplTest {
     @Mock
     UserRepository userRepository;
     @Mock
+    UserValidator userValidator;
+    @Mock
     ItemRequestRepository itemRequestRepository;
     @Mock
     ItemRepository itemRepository;
@@ -79,7 +85,6 @@ class ItemRequestServiceImplTest {
 
     @Test
     void getUserRequestsWithOk() {
-        when(userRepository.existsUserById(anyLong())).thenReturn(true);
         when(itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(anyLong(), any()))
                 .thenReturn(List.of(itemRequest));
         when(itemRepository.findAllByRequestIdIn(any())).thenReturn(List.of());
@@ -93,7 +98,6 @@ class ItemRequestServiceImplTest {
 
     @Test
     void getOtherUserRequestsWithOk() {
-        when(userRepository.existsUserById(anyLong())).thenReturn(true);
         when(itemRequestRepository.findAllByRequesterIdNot(anyLong(), any())).thenReturn(
                 new PageImpl<>(List.of(itemRequest), PageUtil.getPageRequest(0, 1), 1));
         when(itemRepository.findAllByRequestIdIn(any())).thenReturn(List.of());
@@ -106,9 +110,21 @@ class ItemRequestServiceImplTest {
         assertEquals(List.of(), actual.get(0).getItems());
     }
 
+    @Test
+    void getOtherUserRequestsByCursorWithOk() {
+        LocalDateTime created = itemRequest.getCreated().plusMinutes(1);
+        when(itemRequestRepository.findOtherRequestsBefore(eq(2L), eq(created), eq(5L), any()))
+                .thenReturn(List.of(itemRequest));
+        when(itemRepository.findAllByRequestIdIn(any())).thenReturn(List.of());
+        CursorPage<ItemRequestDto> page = itemRequestService.getOtherUserRequests(2L,
+                Cursor.encode(created, 5L), 1);
+        assertEquals(1, page.getContent().size());
+        assertEquals(itemRequest.getId(), page.getContent().get(0).getId());
+        assertNull(page.getNextCursor());
+    }
+
     @Test
     void findByIdWithOk() {
-        when(userRepository.existsUserById(anyLong())).thenReturn(true);
         when(itemRequestRepository.findById(anyLong())).thenReturn(Optional.of(itemRequest));
         ItemRequestDto actual = itemRequestService.getItemRequestById(user.getId(), itemRequest.getId());
         assertEquals(1L, actual.getId());
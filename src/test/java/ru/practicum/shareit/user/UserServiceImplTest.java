@@ -7,6 +7,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.projection.ItemBookingProjection;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -14,6 +15,8 @@ import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserServiceImpl;
+import ru.practicum.shareit.user.service.UserValidator;
+import ru.practicum.shareit.util.EntityCache;
 
 import java.util.*;
 
@@ -27,6 +30,12 @@ class UserServiceImplTest {
 
     @Mock
     UserRepository userRepository;
+    @Mock
+    EntityCache entityCache;
+    @Mock
+    UserValidator userValidator;
+    @Mock
+    ItemBookingProjection itemBookingProjection;
     @InjectMocks
     UserServiceImpl userService;
     User user;
@@ -43,23 +52,24 @@ class UserServiceImplTest {
         when(userRepository.save(any())).thenReturn(user);
         assertEquals(UserMapper.toUserDto(user), userService.add(user));
         verify(userRepository).save(any());
+        verify(userValidator).onCreated(user.getId());
     }
 
     @Test
     void updateWithCorrectId() {
         User newUser = User.builder().id(user.getId()).name("updateName").email("upd@mail.ru").build();
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
         when(userRepository.save(any(User.class))).thenReturn(newUser);
         UserDto updUser = userService.update(user.getId(), newUser);
         assertEquals(newUser.getName(), updUser.getName());
         assertEquals(newUser.getEmail(), updUser.getEmail());
         verify(userRepository).save(any(User.class));
+        verify(entityCache).evict(User.class, user.getId());
     }
 
     @Test
     void updateWithIncorrectId() {
         User newUser = User.builder().id(20L).name("updateName").email("upd@mail.ru").build();
-        when(userRepository.findById(anyLong())).thenThrow(new NotFoundException(""));
+        doThrow(new NotFoundException("")).when(userValidator).validateExists(anyLong());
         assertThrows(NotFoundException.class, () -> userService.update(anyLong(), newUser));
         verify(userRepository, never()).save(any(User.class));
     }
@@ -123,6 +133,9 @@ class UserServiceImplTest {
     void deleteIsOk() {
         userService.delete(anyLong());
         verify(userRepository).deleteById(anyLong());
+        verify(entityCache).evict(eq(User.class), anyLong());
+        verify(userValidator).onDeleted(anyLong());
+        verify(itemBookingProjection).evictAll();
     }
 
 }
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserValidator;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserValidatorTest {
+    @Mock
+    UserRepository userRepository;
+    UserValidator userValidator;
+    User user = User.builder().id(3L).name("user3").email("user3@mail.ru").build();
+
+    @BeforeEach
+    void beforeEach() {
+        userValidator = new UserValidator(userRepository, true, 1000);
+    }
+
+    @Test
+    void knownUserIsCheckedOnce() {
+        when(userRepository.findById(700L)).thenReturn(Optional.of(user));
+        userValidator.validateExists(700L);
+        userValidator.validateExists(700L);
+        verify(userRepository, times(1)).findById(700L);
+    }
+
+    @Test
+    void unknownUserThrowsNotFound() {
+        when(userRepository.findById(5L)).thenReturn(Optional.empty());
+        assertThrows(NotFoundException.class, () -> userValidator.validateExists(5L));
+        assertThrows(NotFoundException.class, () -> userValidator.validateExists(5L));
+        verify(userRepository, times(2)).findById(5L);
+    }
+
+    @Test
+    void createdUserIsKnownWithoutQuery() {
+        userValidator.onCreated(3L);
+        userValidator.validateExists(3L);
+        verify(userRepository, never()).findById(3L);
+    }
+
+    @Test
+    void deletedUserIsCheckedAgain() {
+        userValidator.onCreated(3L);
+        userValidator.onDeleted(3L);
+        when(userRepository.findById(3L)).thenReturn(Optional.empty());
+        assertThrows(NotFoundException.class, () -> userValidator.validateExists(3L));
+    }
+
+    @Test
+    void idsAboveBitmapAlwaysQueryDatabase() {
+        when(userRepository.findById(5000L)).thenReturn(Optional.of(user));
+        userValidator.validateExists(5000L);
+        userValidator.validateExists(5000L);
+        verify(userRepository, times(2)).findById(5000L);
+    }
+
+    @Test
+    void disabledValidatorLooksUpEveryCheck() {
+        UserValidator disabled = new UserValidator(userRepository, false, 1000);
+        when(userRepository.findById(3L)).thenReturn(Optional.of(user));
+        disabled.onCreated(3L);
+        disabled.validateExists(3L);
+        disabled.validateExists(3L);
+        verify(userRepository, times(2)).findById(3L);
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.monitoring.QueryStats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReadTransactionsTest {
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @Test
+    void sequentialForksRunInlineInsideOneTransaction() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        ReadTransactions reads = new ReadTransactions(transactionManager, false, 1);
+        Thread caller = Thread.currentThread();
+
+        Thread forked = reads.scope(() -> ReadTransactions.join(reads.fork(Thread::currentThread)));
+
+        assertEquals(caller, forked);
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    @Test
+    void parallelForksRunOnPoolEachInOwnTransaction() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        ReadTransactions reads = new ReadTransactions(transactionManager, true, 2);
+        try {
+            Thread caller = Thread.currentThread();
+
+            Thread first = reads.scope(() -> ReadTransactions.join(reads.fork(Thread::currentThread)));
+            Thread second = reads.scope(() -> ReadTransactions.join(reads.fork(Thread::currentThread)));
+
+            assertNotEquals(caller, first);
+            assertNotEquals(caller, second);
+            verify(transactionManager, times(2)).getTransaction(any());
+            verify(transactionManager, times(2)).commit(any());
+        } finally {
+            reads.destroy();
+        }
+    }
+
+    @Test
+    void parallelForksRecordIntoQueryStatsOfCaller() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        ReadTransactions reads = new ReadTransactions(transactionManager, true, 1);
+        try {
+            QueryStats stats = QueryStats.start();
+            try {
+                assertSame(stats, ReadTransactions.join(reads.fork(QueryStats::current)));
+            } finally {
+                QueryStats.stop();
+            }
+            assertNull(ReadTransactions.join(reads.fork(QueryStats::current)));
+        } finally {
+            reads.destroy();
+        }
+    }
+
+    @Test
+    void joinRethrowsForkedExceptionUnwrapped() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        ReadTransactions reads = new ReadTransactions(transactionManager, true, 1);
+        try {
+            assertThrows(NotFoundException.class, () -> ReadTransactions.join(reads.fork(() -> {
+                throw new NotFoundException("missing");
+            })));
+        } finally {
+            reads.destroy();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ConflictException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StripedLocksTest {
+    @Test
+    void stripeCountIsRoundedUpToPowerOfTwo() {
+        StripedLocks locks = new StripedLocks(5, 100);
+        assertSame(locks.stripe(1L), locks.stripe(9L));
+        assertNotSame(locks.stripe(1L), locks.stripe(2L));
+        StripedLocks single = new StripedLocks(1, 100);
+        assertSame(single.stripe(1L), single.stripe(2L));
+    }
+
+    @Test
+    void busyKeyTimesOutWithConflict() throws Exception {
+        StripedLocks locks = new StripedLocks(16, 50);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Object> holder = executor.submit(() -> locks.withLock(1L, () -> {
+                held.countDown();
+                await(release);
+                return null;
+            }));
+            held.await(5, TimeUnit.SECONDS);
+
+            assertThrows(ConflictException.class, () -> locks.withLock(1L, () -> "same item"));
+            assertEquals("other item", locks.withLock(2L, () -> "other item"));
+
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+            assertEquals("same item", locks.withLock(1L, () -> "same item"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}